@@ -0,0 +1,457 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Archiver.java
+ *
+ *			Modified: 17-Oct-2026 (17:05:12)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+
+/**
+ * Zips files using all cores.<br />
+ * Each file is cut into chunks, which are read and deflated independently on a fork-join pool, then written to
+ * the zip in order as one deflate stream per file, the way 'pigz' does it: all chunks but the last end on a byte boundary
+ * (a sync flush), and each chunk is primed with the end of the one before, so nothing is lost in compression.
+ * The CRC of each file is combined from the CRCs of its chunks.<br />
+ * Only so many chunks are in memory at once, and the zip is written as they're done, so files of any size can be
+ * zipped, up to the 4 GB limit of a plain zip.
+ */
+final class Archiver
+{
+
+	/* size of a chunk, before compression. */
+	private static final int				CHUNK_SIZE		= 1024 * 1024;
+
+	/* how much of the chunk before is used to prime the compression of the next; the most deflate looks back. */
+	private static final int				DICTIONARY_SIZE	= 32 * 1024;
+
+	/* sizes in a plain zip are 32 bits, unsigned. */
+	private static final long				MAX_SIZE		= 0xFFFFFFFFL - CHUNK_SIZE;
+
+	/* record signatures. */
+	private static final int				LOCAL_HEADER	= 0x04034b50;
+	private static final int				DATA_DESCRIPTOR	= 0x08074b50;
+	private static final int				CENTRAL_HEADER	= 0x02014b50;
+	private static final int				END_OF_CENTRAL	= 0x06054b50;
+
+	/* sizes are in a descriptor after the data, and names are UTF-8. */
+	private static final short				FLAGS			= 0x0808;
+	private static final short				VERSION			= 20;
+
+	/* compresses the chunks; low priority, so it doesn't hold up writing the log. */
+	private static final ForkJoinPool		POOL			= new ForkJoinPool(Runtime.getRuntime().availableProcessors()
+																	, pool ->
+																	{
+																		final ForkJoinWorkerThread thread =
+																				ForkJoinPool.defaultForkJoinWorkerThreadFactory
+																						.newThread(pool);
+																		thread.setPriority(Thread.MIN_PRIORITY);
+																		thread.setDaemon(true);
+																		return thread;
+																	}, null, false);
+
+	/* chunks in flight: enough to keep all cores busy while the one at the head is written. */
+	private static final int				WINDOW			= POOL.getParallelism() * 2;
+
+	/* a compressed chunk. */
+	private static final class Chunk
+	{
+
+		private int		file;
+		private boolean	last;
+		private byte[]	data;
+		private int		length;
+		private long	crc;
+		private int		size;
+	}
+
+	/**
+	 * Zips the files together, replacing the target if it exists. The files are named in the zip by their file names.
+	 *
+	 * @param target
+	 *            Zip file.
+	 * @param level
+	 *            Deflate level: 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @param files
+	 *            Files to zip; none may change while zipping.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	static void zip(final Path target, final int level, final Path... files) throws IOException
+	{
+		final FileChannel[] inputs = new FileChannel[files.length];
+		final long[] sizes = new long[files.length];
+
+		try (FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+				, StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			for (int i = 0; i < files.length; i++)
+			{
+				inputs[i] = FileChannel.open(files[i], StandardOpenOption.READ);
+				sizes[i] = inputs[i].size();
+
+				if (sizes[i] > MAX_SIZE)
+				{
+					throw new IOException("Too big to zip: " + files[i]);
+				}
+			}
+
+			final byte[][] names = new byte[files.length][];
+			final int[] times = new int[files.length];
+			final long[] offsets = new long[files.length];
+			final long[] crcs = new long[files.length];
+			final long[] compressedSizes = new long[files.length];
+
+			final ArrayDeque<ForkJoinTask<Chunk>> window = new ArrayDeque<>(WINDOW);
+			int nextFile = 0;
+			long nextPosition = 0;
+			int currentFile = -1;
+
+			while (true)
+			{
+				// keep the pool busy with the chunks coming next, of this file, or the ones after.
+				while ((window.size() < WINDOW) && (nextFile < files.length))
+				{
+					final int file = nextFile;
+					final long position = nextPosition;
+					final FileChannel input = inputs[file];
+					final boolean last = (position + CHUNK_SIZE) >= sizes[file];
+					final int size = (int) Math.min(CHUNK_SIZE, sizes[file] - position);
+
+					window.add(POOL.submit(() -> compress(input, file, position, size, last, level)));
+
+					nextPosition += CHUNK_SIZE;
+
+					if (last)
+					{
+						nextFile++;
+						nextPosition = 0;
+					}
+				}
+
+				if (window.isEmpty())
+				{
+					break;
+				}
+
+				final Chunk chunk;
+
+				try
+				{
+					chunk = window.poll().get();
+				}
+				catch (final InterruptedException | ExecutionException e)
+				{
+					throw new IOException(e);
+				}
+
+				// first chunk of a file; start its entry.
+				if (chunk.file != currentFile)
+				{
+					currentFile = chunk.file;
+					names[currentFile] = files[currentFile].getFileName().toString().getBytes(StandardCharsets.UTF_8);
+					times[currentFile] = toDosTime(Files.getLastModifiedTime(files[currentFile]).toMillis());
+					offsets[currentFile] = output.position();
+					writeLocalHeader(output, names[currentFile], times[currentFile]);
+				}
+
+				writeFully(output, ByteBuffer.wrap(chunk.data, 0, chunk.length));
+				crcs[currentFile] = combine(crcs[currentFile], chunk.crc, chunk.size);
+				compressedSizes[currentFile] += chunk.length;
+
+				// last chunk of the file; end its entry.
+				if (chunk.last)
+				{
+					writeDataDescriptor(output, crcs[currentFile], compressedSizes[currentFile], sizes[currentFile]);
+				}
+			}
+
+			writeCentralDirectory(output, names, times, offsets, crcs, compressedSizes, sizes);
+		}
+		finally
+		{
+			for (final FileChannel input : inputs)
+			{
+				if (input != null)
+				{
+					input.close();
+				}
+			}
+		}
+	}
+
+	/* read a chunk, and deflate it, primed with the end of the chunk before it; ends the stream if it's the last. */
+	private static Chunk compress(final FileChannel input, final int file, final long position, final int size
+			, final boolean last, final int level) throws IOException
+	{
+		final int dictionary = (int) Math.min(position, DICTIONARY_SIZE);
+		final byte[] bytes = new byte[dictionary + size];
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+		while (buffer.hasRemaining())
+		{
+			if (input.read(buffer, (position - dictionary) + buffer.position()) < 0)
+			{
+				throw new IOException("File shrank while zipping.");
+			}
+		}
+
+		final Chunk chunk = new Chunk();
+		chunk.file = file;
+		chunk.last = last;
+		chunk.size = size;
+
+		final CRC32 crc = new CRC32();
+		crc.update(bytes, dictionary, size);
+		chunk.crc = crc.getValue();
+
+		final Deflater deflater = new Deflater(level, true);
+
+		try
+		{
+			if (dictionary > 0)
+			{
+				deflater.setDictionary(bytes, 0, dictionary);
+			}
+
+			deflater.setInput(bytes, dictionary, size);
+
+			if (last)
+			{
+				deflater.finish();
+			}
+
+			byte[] data = new byte[size + (size >> 3) + 64];
+			int length = 0;
+
+			// keep going until the output has room to spare, which means the compressor has nothing more to give.
+			while (true)
+			{
+				length += deflater.deflate(data, length, data.length - length
+						, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+
+				if (last ? deflater.finished() : (length < data.length))
+				{
+					break;
+				}
+
+				if (length == data.length)
+				{
+					data = Arrays.copyOf(data, data.length * 2);
+				}
+			}
+
+			chunk.data = data;
+			chunk.length = length;
+		}
+		finally
+		{
+			deflater.end();
+		}
+
+		return chunk;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Zip records.
+	//======================================================================================
+
+	private static void writeLocalHeader(final FileChannel output, final byte[] name, final int time)
+			throws IOException
+	{
+		final ByteBuffer header = newRecord(30 + name.length);
+		header.putInt(LOCAL_HEADER).putShort(VERSION).putShort(FLAGS).putShort((short) Deflater.DEFLATED)
+				.putInt(time)
+				.putInt(0).putInt(0).putInt(0)	// CRC and sizes are in the data descriptor.
+				.putShort((short) name.length).putShort((short) 0)
+				.put(name);
+		header.flip();
+		writeFully(output, header);
+	}
+
+	private static void writeDataDescriptor(final FileChannel output, final long crc, final long compressedSize
+			, final long size) throws IOException
+	{
+		final ByteBuffer descriptor = newRecord(16);
+		descriptor.putInt(DATA_DESCRIPTOR).putInt((int) crc).putInt((int) compressedSize).putInt((int) size);
+		descriptor.flip();
+		writeFully(output, descriptor);
+	}
+
+	private static void writeCentralDirectory(final FileChannel output, final byte[][] names, final int[] times
+			, final long[] offsets, final long[] crcs, final long[] compressedSizes, final long[] sizes)
+			throws IOException
+	{
+		final long start = output.position();
+
+		for (int i = 0; i < names.length; i++)
+		{
+			final ByteBuffer header = newRecord(46 + names[i].length);
+			header.putInt(CENTRAL_HEADER).putShort(VERSION).putShort(VERSION).putShort(FLAGS)
+					.putShort((short) Deflater.DEFLATED).putInt(times[i])
+					.putInt((int) crcs[i]).putInt((int) compressedSizes[i]).putInt((int) sizes[i])
+					.putShort((short) names[i].length).putShort((short) 0).putShort((short) 0)	// extra, and comment.
+					.putShort((short) 0).putShort((short) 0).putInt(0)	// disk, and attributes.
+					.putInt((int) offsets[i])
+					.put(names[i]);
+			header.flip();
+			writeFully(output, header);
+		}
+
+		final ByteBuffer end = newRecord(22);
+		end.putInt(END_OF_CENTRAL).putShort((short) 0).putShort((short) 0)
+				.putShort((short) names.length).putShort((short) names.length)
+				.putInt((int) (output.position() - start)).putInt((int) start)
+				.putShort((short) 0);
+		end.flip();
+		writeFully(output, end);
+	}
+
+	private static ByteBuffer newRecord(final int size)
+	{
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private static void writeFully(final FileChannel output, final ByteBuffer buffer) throws IOException
+	{
+		while (buffer.hasRemaining())
+		{
+			output.write(buffer);
+		}
+	}
+
+	/* MS-DOS date (high 16 bits), and time (low 16 bits). */
+	private static int toDosTime(final long millis)
+	{
+		final Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(millis);
+
+		return ((Math.max(calendar.get(Calendar.YEAR) - 1980, 0) << 25)
+				| ((calendar.get(Calendar.MONTH) + 1) << 21)
+				| (calendar.get(Calendar.DAY_OF_MONTH) << 16)
+				| (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+				| (calendar.get(Calendar.MINUTE) << 5)
+				| (calendar.get(Calendar.SECOND) >> 1));
+	}
+
+	//======================================================================================
+	// #endregion Zip records.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region CRC combining.
+	//======================================================================================
+
+	/*
+	 * CRC of two blocks joined, from the CRC of each, and the length of the second; as 'crc32_combine' in zlib.
+	 * Appending 'n' zeros to the first block is a linear operation on its CRC, applied by squaring the matrix
+	 * of appending one zero bit, once per bit of 'n'.
+	 */
+	static long combine(long crc1, final long crc2, long length2)
+	{
+		if (length2 <= 0)
+		{
+			return crc1;
+		}
+
+		final long[] even = new long[32];
+		final long[] odd = new long[32];
+
+		// operator for one zero bit.
+		odd[0] = 0xEDB88320L;
+
+		for (int n = 1, row = 1; n < 32; n++, row <<= 1)
+		{
+			odd[n] = row & 0xFFFFFFFFL;
+		}
+
+		square(even, odd);	// two zero bits.
+		square(odd, even);	// four zero bits.
+
+		// apply 'length2' zero bytes to 'crc1'; the first square below is for one zero byte.
+		do
+		{
+			square(even, odd);
+
+			if ((length2 & 1) != 0)
+			{
+				crc1 = times(even, crc1);
+			}
+
+			length2 >>= 1;
+
+			if (length2 == 0)
+			{
+				break;
+			}
+
+			square(odd, even);
+
+			if ((length2 & 1) != 0)
+			{
+				crc1 = times(odd, crc1);
+			}
+
+			length2 >>= 1;
+		}
+		while (length2 != 0);
+
+		return crc1 ^ crc2;
+	}
+
+	private static long times(final long[] matrix, long vector)
+	{
+		long sum = 0;
+
+		for (int i = 0; vector != 0; i++, vector >>>= 1)
+		{
+			if ((vector & 1) != 0)
+			{
+				sum ^= matrix[i];
+			}
+		}
+
+		return sum;
+	}
+
+	private static void square(final long[] square, final long[] matrix)
+	{
+		for (int n = 0; n < 32; n++)
+		{
+			square[n] = times(matrix, matrix[n]);
+		}
+	}
+
+	//======================================================================================
+	// #endregion CRC combining.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	private Archiver()
+	{}
+
+}
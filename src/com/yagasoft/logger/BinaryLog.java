@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/BinaryLog.java
+ *
+ *			Modified: 17-Oct-2026 (21:52:19)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Writes the binary log format; it's read by {@link BinaryLogReader}. Entries are kept as posted (segments, styles and
+ * markup), so the text and HTML logs can be formed from them on demand, while only the text is stored.<br />
+ * <br />
+ * <pre>
+ * file:    'YLOG', version (byte), then blocks
+ * block:   length of the body (int), CRC-32C of the body (int), then the body
+ * body:    time of the first record (varint), then records
+ * record:  length of the rest (varint), time since the previous record (zig-zag varint), type (byte),
+ *          font size (byte), thread ID (varint), number of segments (varint), then the segments
+ * segment: style ID (varint), markup (zig-zag varint), separator (string), text (string)
+ * string:  number of UTF-8 bytes + 1 (varint; 0 for none), then the bytes
+ * </pre>
+ * Times are in microseconds since the epoch, and ints are big-endian. Each batch the file writer takes is a block, so
+ * a block cut short by a crash loses that batch only.<br />
+ * Not thread-safe: each thread needs its own.
+ */
+final class BinaryLog
+{
+
+	/** Start of the file. */
+	static final byte[]	MAGIC			= { 'Y', 'L', 'O', 'G' };
+	static final byte	VERSION			= 1;
+
+	/** Length of the head of a block: the length of its body, then its CRC. */
+	static final int	BLOCK_HEAD		= 8;
+
+	/** Size of the blocks the reader accepts; it only guards against reading a corrupt length. */
+	static final int	MAX_BLOCK_SIZE	= 64 * 1024 * 1024;
+
+	/**
+	 * The body of a record, encoded by the thread writing it, and when it was posted, which the file writer encodes
+	 * relative to the one before it in the block.
+	 */
+	static final class Record
+	{
+
+		final byte[]	body;
+		final long		time;
+
+		Record(final byte[] body, final long time)
+		{
+			this.body = body;
+			this.time = time;
+		}
+	}
+
+	private byte[]		bytes			= new byte[1024];
+	private int			position;
+
+	/**
+	 * @return the head of the file
+	 */
+	static ByteBuffer fileHead()
+	{
+		return (ByteBuffer) ByteBuffer.allocate(MAGIC.length + 1).put(MAGIC).put(VERSION).flip();
+	}
+
+	/**
+	 * Encodes the entry, except its time, into the body of a record.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return the record
+	 */
+	Record encode(final Entry entry)
+	{
+		return new Record(Arrays.copyOf(bytes, encodeBody(entry)), entry.getTime());
+	}
+
+	/**
+	 * Encodes the entry, except its time, into the body of a record, kept in this instance; nothing is allocated once
+	 * it's big enough.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return the length of the body; it's at the start of {@link #getBody()}
+	 */
+	int encodeBody(final Entry entry)
+	{
+		position = 0;
+
+		putByte(entry.getType().ordinal());
+		putByte(entry.getFontSize());
+		putVarLong(entry.getThreadId());
+		putVarLong(entry.size());
+
+		for (int i = 0; i < entry.size(); i++)
+		{
+			putVarLong(entry.getStyle(i));
+			putVarLong(zigZag(entry.getMarkup(i)));
+
+			final String separator = entry.getSeparator(i);
+
+			if (separator == null)
+			{
+				putVarLong(0);
+			}
+			else
+			{
+				putString(separator, 0, separator.length());
+			}
+
+			putString(entry.getText(i), entry.getStart(i), entry.getEnd(i));
+		}
+
+		return position;
+	}
+
+	/**
+	 * @return the body encoded last by {@link #encodeBody(Entry)}; valid until the next call
+	 */
+	byte[] getBody()
+	{
+		return bytes;
+	}
+
+	/**
+	 * Encodes the records into a block.
+	 *
+	 * @param records
+	 *            Records; at least one.
+	 * @return the block, valid until the next call
+	 */
+	ByteBuffer encodeBlock(final List<Record> records)
+	{
+		position = BLOCK_HEAD;
+
+		long previous = records.get(0).time;
+		putVarLong(previous);
+
+		for (final Record record : records)
+		{
+			final long delta = zigZag(record.time - previous);
+			putVarLong(varLongSize(delta) + record.body.length);
+			putVarLong(delta);
+			putBytes(record.body);
+			previous = record.time;
+		}
+
+		final int length = position - BLOCK_HEAD;
+		final int crc = Crc32c.compute(bytes, BLOCK_HEAD, length);
+
+		return ByteBuffer.wrap(bytes, 0, position).putInt(0, length).putInt(4, crc);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Encoding.
+	//======================================================================================
+
+	/* so small negatives take one byte as well. */
+	static long zigZag(final long value)
+	{
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static long unZigZag(final long value)
+	{
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static int varLongSize(long value)
+	{
+		int size = 1;
+
+		while ((value & ~0x7FL) != 0)
+		{
+			value >>>= 7;
+			size++;
+		}
+
+		return size;
+	}
+
+	private void putVarLong(long value)
+	{
+		ensureRoom(10);
+
+		while ((value & ~0x7FL) != 0)
+		{
+			bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		bytes[position++] = (byte) value;
+	}
+
+	private void putByte(final int value)
+	{
+		ensureRoom(1);
+		bytes[position++] = (byte) value;
+	}
+
+	private void putBytes(final byte[] source)
+	{
+		ensureRoom(source.length);
+		System.arraycopy(source, 0, bytes, position, source.length);
+		position += source.length;
+	}
+
+	/* encode the span of the string as UTF-8, after its length; unpaired surrogates become '?', as in String.getBytes(). */
+	private void putString(final String text, final int start, final int end)
+	{
+		int length = 0;
+
+		for (int i = start; i < end; i++)
+		{
+			final char character = text.charAt(i);
+
+			if (character < 0x80)
+			{
+				length++;
+			}
+			else if (character < 0x800)
+			{
+				length += 2;
+			}
+			else if (Character.isHighSurrogate(character) && ((i + 1) < end) && Character.isLowSurrogate(text.charAt(i + 1)))
+			{
+				length += 4;
+				i++;
+			}
+			else
+			{
+				length += Character.isSurrogate(character) ? 1 : 3;
+			}
+		}
+
+		putVarLong(length + 1L);
+		ensureRoom(length);
+
+		for (int i = start; i < end; i++)
+		{
+			final char character = text.charAt(i);
+
+			if (character < 0x80)
+			{
+				bytes[position++] = (byte) character;
+			}
+			else if (character < 0x800)
+			{
+				bytes[position++] = (byte) (0xC0 | (character >> 6));
+				bytes[position++] = (byte) (0x80 | (character & 0x3F));
+			}
+			else if (Character.isHighSurrogate(character) && ((i + 1) < end) && Character.isLowSurrogate(text.charAt(i + 1)))
+			{
+				final int codePoint = Character.toCodePoint(character, text.charAt(++i));
+				bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+				bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+			}
+			else if (Character.isSurrogate(character))
+			{
+				bytes[position++] = '?';
+			}
+			else
+			{
+				bytes[position++] = (byte) (0xE0 | (character >> 12));
+				bytes[position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+				bytes[position++] = (byte) (0x80 | (character & 0x3F));
+			}
+		}
+	}
+
+	private void ensureRoom(final int room)
+	{
+		if ((position + room) > bytes.length)
+		{
+			bytes = Arrays.copyOf(bytes, Math.max(position + room, bytes.length * 2));
+		}
+	}
+
+	//======================================================================================
+	// #endregion Encoding.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+}
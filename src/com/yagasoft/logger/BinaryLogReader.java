@@ -0,0 +1,475 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/BinaryLogReader.java
+ *
+ *			Modified: 17-Oct-2026 (23:31:17)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import com.yagasoft.logger.Logger.EntryType;
+
+
+/**
+ * Reads a binary log file (see {@link Log#setBinaryWriting(boolean)}) an entry at a time, without loading it all;
+ * it can be read while it's being written, and can be compressed (GZIP, or '.gz'), or in an archive of the log files
+ * ('.zip').<br />
+ * The file is checked a block at a time: a corrupt block fails the read, while one cut short (by a crash, or as it's
+ * being written) ends it.<br />
+ * Use {@link #toText(Path, Path)}, or {@link #toHTML(Path, Path)}, to convert the whole file.
+ */
+public final class BinaryLogReader implements Closeable
+{
+
+	private final DataInputStream	input;
+
+	/* body of the current block, and where the next record starts in it. */
+	private byte[]					block		= new byte[64 * 1024];
+	private int						blockLength;
+	private int						position;
+
+	/* time of the previous record; the next one is relative to it. */
+	private long					time;
+
+	/* the entry read last. */
+	private final Entry				entry		= new Entry();
+
+	/* what the messages of the entry read last look like, formed on demand. */
+	private EntryRenderer			renderer;
+	private final StringBuilder		builder		= new StringBuilder(256);
+
+	/**
+	 * Instantiates a reader of records held in memory, rather than a file; see {@link #decode(byte[], int, long)}.
+	 */
+	BinaryLogReader()
+	{
+		input = null;
+	}
+
+	/**
+	 * Opens the file, and checks its head.
+	 *
+	 * @param file
+	 *            Binary log file, or an archive holding one.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred, or that it's not a binary log.
+	 */
+	public BinaryLogReader(final Path file) throws IOException
+	{
+		InputStream stream = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+
+		try
+		{
+			// the binary log in the archive.
+			if (file.toString().endsWith(".zip"))
+			{
+				stream = new BufferedInputStream(openArchived(new ZipInputStream(stream), file), 64 * 1024);
+			}
+
+			// compressed?
+			stream.mark(2);
+			final boolean compressed = (stream.read() == 0x1F) && (stream.read() == 0x8B);
+			stream.reset();
+
+			if (compressed)
+			{
+				stream = new BufferedInputStream(new GZIPInputStream(stream, 64 * 1024), 64 * 1024);
+			}
+
+			input = new DataInputStream(stream);
+
+			final byte[] head = new byte[BinaryLog.MAGIC.length + 1];
+			input.readFully(head);
+
+			if ( !Arrays.equals(Arrays.copyOf(head, BinaryLog.MAGIC.length), BinaryLog.MAGIC)
+					|| (head[BinaryLog.MAGIC.length] != BinaryLog.VERSION))
+			{
+				throw new IOException("Not a binary log, or of an unknown version: " + file);
+			}
+		}
+		catch (final IOException e)
+		{
+			stream.close();
+			throw e;
+		}
+	}
+
+	/* the stream positioned at the binary log in the archive. */
+	private static InputStream openArchived(final ZipInputStream archive, final Path file) throws IOException
+	{
+		for (ZipEntry entry = archive.getNextEntry(); entry != null; entry = archive.getNextEntry())
+		{
+			if (entry.getName().endsWith(".bin"))
+			{
+				return archive;
+			}
+		}
+
+		archive.close();
+		throw new IOException("No binary log in the archive: " + file);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Reading.
+	//======================================================================================
+
+	/**
+	 * Reads the next entry.
+	 *
+	 * @return true, if read; false at the end of the file
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred, or that a block is corrupt.
+	 */
+	public boolean next() throws IOException
+	{
+		if ((position >= blockLength) && !readBlock())
+		{
+			return false;
+		}
+
+		final int length = (int) getVarLong();
+		final int end = position + length;
+
+		if ((length <= 0) || (end > blockLength))
+		{
+			throw new IOException("Corrupt record in the binary log.");
+		}
+
+		entry.clear();
+		time += BinaryLog.unZigZag(getVarLong());
+		entry.setTime(time);
+		readBody(end);
+
+		return true;
+	}
+
+	/**
+	 * Decodes the body of a record held in memory, rather than read from a file; used to replay entries spilled to the
+	 * disk ({@link SpillFile}). The reader must be used for nothing else.
+	 *
+	 * @param body
+	 *            Body of the record, as encoded by {@link BinaryLog#encode(Entry)}.
+	 * @param length
+	 *            Its length.
+	 * @param time
+	 *            When the entry was posted, in microseconds since the epoch.
+	 * @return the entry, valid until the next call
+	 * @throws IOException
+	 *             Signals that the record is corrupt.
+	 */
+	Entry decode(final byte[] body, final int length, final long time) throws IOException
+	{
+		block = body;
+		blockLength = length;
+		position = 0;
+
+		entry.clear();
+		entry.setTime(time);
+		readBody(length);
+
+		return entry;
+	}
+
+	/* read the rest of the record, from its type on, into the entry; the record ends at the position passed. */
+	private void readBody(final int end) throws IOException
+	{
+		entry.setType(EntryType.values()[block[position++]]);
+		entry.setFontSize(block[position++]);
+		entry.setThreadId(getVarLong());
+
+		final int segments = (int) getVarLong();
+
+		for (int i = 0; i < segments; i++)
+		{
+			final int style = (int) getVarLong();
+			final int markup = (int) BinaryLog.unZigZag(getVarLong());
+			final String separator = getString();
+			final String text = getString();
+			entry.add(text, 0, text.length(), style, markup, separator);
+		}
+
+		if (position != end)
+		{
+			throw new IOException("Corrupt record in the binary log.");
+		}
+	}
+
+	/* read the next block, and check it; false if there's none, or it was cut short. */
+	private boolean readBlock() throws IOException
+	{
+		try
+		{
+			final int length = input.readInt();
+			final int crc = input.readInt();
+
+			// a mapped file is zeros past what's written; no block is empty.
+			if ((length == 0) && (crc == 0))
+			{
+				return false;
+			}
+
+			if ((length <= 0) || (length > BinaryLog.MAX_BLOCK_SIZE))
+			{
+				throw new IOException("Corrupt block in the binary log.");
+			}
+
+			if (length > block.length)
+			{
+				block = new byte[length];
+			}
+
+			input.readFully(block, 0, length);
+
+			if (Crc32c.compute(block, 0, length) != crc)
+			{
+				throw new IOException("Corrupt block in the binary log.");
+			}
+
+			blockLength = length;
+			position = 0;
+			time = getVarLong();
+
+			return true;
+		}
+		catch (final EOFException e)
+		{
+			return false;
+		}
+	}
+
+	private long getVarLong() throws IOException
+	{
+		long value = 0;
+
+		for (int shift = 0; shift < 64; shift += 7)
+		{
+			if (position >= blockLength)
+			{
+				break;
+			}
+
+			final byte current = block[position++];
+			value |= (long) (current & 0x7F) << shift;
+
+			if (current >= 0)
+			{
+				return value;
+			}
+		}
+
+		throw new IOException("Corrupt record in the binary log.");
+	}
+
+	/* the string, or null if none. */
+	private String getString() throws IOException
+	{
+		final int length = (int) getVarLong() - 1;
+
+		if (length < 0)
+		{
+			return null;
+		}
+
+		if ((position + length) > blockLength)
+		{
+			throw new IOException("Corrupt record in the binary log.");
+		}
+
+		final String text = new String(block, position, length, StandardCharsets.UTF_8);
+		position += length;
+
+		return text;
+	}
+
+	//======================================================================================
+	// #endregion Reading.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Converting.
+	//======================================================================================
+
+	/**
+	 * Converts the binary log file to a text log file, as the log would have written it.
+	 * The current time-stamp format is used; see {@link Log#setTimePrecision(Log.TimePrecision)}.
+	 *
+	 * @param source
+	 *            Binary log file, or an archive of the log files holding one.
+	 * @param target
+	 *            Text file; must not exist.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void toText(final Path source, final Path target) throws IOException
+	{
+		convert(source, target, false);
+	}
+
+	/**
+	 * Converts the binary log file to an HTML log file, as the log would have written it; this is how HTML is formed
+	 * when it's not written as entries come (see {@link Log#setHtmlWriting(boolean)}).
+	 * The current time-stamp format is used; the log doesn't need to be initialised.
+	 *
+	 * @param source
+	 *            Binary log file, or an archive of the log files holding one.
+	 * @param target
+	 *            HTML file; must not exist.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static void toHTML(final Path source, final Path target) throws IOException
+	{
+		convert(source, target, true);
+	}
+
+	private static void convert(final Path source, final Path target, final boolean html) throws IOException
+	{
+		try (BinaryLogReader reader = new BinaryLogReader(source)
+				; Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8, StandardOpenOption.CREATE_NEW))
+		{
+			if (html)
+			{
+				writer.write("<html><body>\n");
+				writer.write(Log.getInstance().getHtmlHead());
+			}
+
+			while (reader.next())
+			{
+				writeLine(writer, html ? reader.getHTML() : reader.getText());
+
+				// each entry on a line of its own, as in the HTML log.
+				if (html)
+				{
+					writer.write('\n');
+				}
+			}
+
+			if (html)
+			{
+				writer.write("\n</html></body>");
+			}
+		}
+	}
+
+	/* write the text without the '\r's, as the log files are. */
+	private static void writeLine(final Writer writer, final String text) throws IOException
+	{
+		int start = 0;
+
+		for (int end = text.indexOf('\r'); end >= 0; end = text.indexOf('\r', start))
+		{
+			writer.write(text, start, end - start);
+			start = end + 1;
+		}
+
+		writer.write(text, start, text.length() - start);
+	}
+
+	//======================================================================================
+	// #endregion Converting.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters.
+	//======================================================================================
+
+	/**
+	 * @return when the entry read last was posted, in microseconds since the epoch
+	 */
+	public long getTime()
+	{
+		return entry.getTime();
+	}
+
+	/**
+	 * @return the kind of the entry read last
+	 */
+	public EntryType getType()
+	{
+		return entry.getType();
+	}
+
+	/**
+	 * @return the ID of the thread that posted the entry read last
+	 */
+	public long getThreadId()
+	{
+		return entry.getThreadId();
+	}
+
+	/**
+	 * @return the text of the entry read last, without the time stamp, as written to the text log
+	 */
+	public String getMessage()
+	{
+		builder.setLength(0);
+		getRenderer().renderMessages(entry, builder);
+		return builder.toString();
+	}
+
+	/**
+	 * @return the entry read last, as written to the text log
+	 */
+	public String getText()
+	{
+		builder.setLength(0);
+		getRenderer().renderText(entry, builder);
+		return builder.toString();
+	}
+
+	/**
+	 * @return the entry read last, as written to the HTML log
+	 */
+	public String getHTML()
+	{
+		builder.setLength(0);
+		getRenderer().renderHtml(entry, builder);
+		return builder.toString();
+	}
+
+	private EntryRenderer getRenderer()
+	{
+		if (renderer == null)
+		{
+			renderer = new EntryRenderer();
+		}
+
+		return renderer;
+	}
+
+	//======================================================================================
+	// #endregion Getters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public void close() throws IOException
+	{
+		if (input != null)
+		{
+			input.close();
+		}
+	}
+
+}
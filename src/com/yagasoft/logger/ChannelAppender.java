@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/ChannelAppender.java
+ *
+ *			Modified: 17-Oct-2026 (15:04:10)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Appends to a log file by writing to its channel; the bytes reach the OS with each call.
+ */
+final class ChannelAppender implements IAppender
+{
+
+	private final FileChannel	channel;
+
+	/**
+	 * Opens the file for appending.
+	 *
+	 * @param file
+	 *            File; must exist.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	ChannelAppender(final Path file) throws IOException
+	{
+		channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public void append(final ByteBuffer bytes) throws IOException
+	{
+		while (bytes.hasRemaining())
+		{
+			channel.write(bytes);
+		}
+	}
+
+	@Override
+	public void force() throws IOException
+	{
+		channel.force(false);
+	}
+
+	@Override
+	public long size()
+	{
+		try
+		{
+			return channel.size();
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+			return 0;
+		}
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		channel.close();
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Clock.java
+ *
+ *			Modified: 17-Oct-2026 (12:31:07)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+/**
+ * Wall clock time in microseconds, cheap enough to read for every entry.<br />
+ * {@link System#currentTimeMillis()} only has millisecond resolution, so the fine part comes from {@link System#nanoTime()},
+ * offset to match the wall clock. The offset is re-calibrated whenever the two drift apart (e.g. the system time is set).
+ */
+final class Clock
+{
+
+	/* how far (micros) the clock may drift from the system's before re-calibrating; some systems tick every ~16 ms. */
+	private static final long		MAX_DRIFT	= 20000;
+
+	/* added to nanoTime() (in micros) to get the wall clock time in micros. */
+	private static volatile long	offset		= calibrate();
+
+	/**
+	 * @return the current time in microseconds since the epoch
+	 */
+	static long now()
+	{
+		final long micros = (System.nanoTime() / 1000) + offset;
+		final long millis = System.currentTimeMillis();
+
+		// the clock drifted, or the system time was changed.
+		if (Math.abs(micros - (millis * 1000)) > MAX_DRIFT)
+		{
+			offset = calibrate();
+			return (System.nanoTime() / 1000) + offset;
+		}
+
+		return micros;
+	}
+
+	private static long calibrate()
+	{
+		return (System.currentTimeMillis() * 1000) - (System.nanoTime() / 1000);
+	}
+
+	private Clock()
+	{}
+
+}
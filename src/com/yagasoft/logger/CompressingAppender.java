@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/CompressingAppender.java
+ *
+ *			Modified: 17-Oct-2026 (16:20:31)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Appends to a GZIP log file, compressing as it goes, so there's nothing left to compress when the file is closed.<br />
+ * The compressor is flushed to a sync point every {@link #SYNC_INTERVAL} bytes, and whenever the file is forced,
+ * so the file can be read while it's being written, up to the last sync point.
+ */
+final class CompressingAppender implements IAppender
+{
+
+	/** How much is compressed (bytes, before compression) between sync points. */
+	static final int				SYNC_INTERVAL	= 64 * 1024;
+
+	private final FileChannel		channel;
+	private final GZIPOutputStream	stream;
+
+	/* the bytes appended are passed to the compressor through this. */
+	private final byte[]			bytes			= new byte[8 * 1024];
+
+	/* bytes appended in total, and since the last sync point. */
+	private long					size;
+	private long					unsynced;
+
+	/**
+	 * Opens the file, and starts a GZIP stream in it.
+	 *
+	 * @param file
+	 *            File; must exist, and be empty.
+	 * @param level
+	 *            Deflate level: 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	CompressingAppender(final Path file, final int level) throws IOException
+	{
+		channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		stream = new GZIPOutputStream(Channels.newOutputStream(channel), SYNC_INTERVAL, true)
+		{
+			
+			{
+				def.setLevel(level);
+			}
+		};
+	}
+
+	@Override
+	public void append(final ByteBuffer bytes) throws IOException
+	{
+		while (bytes.hasRemaining())
+		{
+			final int count = Math.min(bytes.remaining(), this.bytes.length);
+			bytes.get(this.bytes, 0, count);
+			stream.write(this.bytes, 0, count);
+
+			size += count;
+			unsynced += count;
+		}
+
+		if (unsynced >= SYNC_INTERVAL)
+		{
+			sync();
+		}
+	}
+
+	@Override
+	public void force() throws IOException
+	{
+		sync();
+		channel.force(false);
+	}
+
+	/**
+	 * @return the length of what was appended, before compression
+	 */
+	@Override
+	public long size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return the length of what was appended up to the last sync point, before compression
+	 */
+	@Override
+	public long readableSize()
+	{
+		return size - unsynced;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		stream.close();
+	}
+
+	/**
+	 * @return true, as the file is compressed
+	 */
+	@Override
+	public boolean isCompressed()
+	{
+		return true;
+	}
+
+	/* write what's been compressed so far, and end it with a sync point, so it can be decompressed up to here. */
+	private void sync() throws IOException
+	{
+		stream.flush();
+		unsynced = 0;
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Crc32c.java
+ *
+ *			Modified: 17-Oct-2026 (21:34:07)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+/**
+ * CRC-32C (Castagnoli), as used by iSCSI and ext4; there's none in the JDK before 9.<br />
+ * Table-driven, eight bytes at a time ('slicing-by-8').
+ */
+final class Crc32c
+{
+
+	/* the polynomial, bits reversed. */
+	private static final int		POLYNOMIAL	= 0x82F63B78;
+
+	/* the CRC of each byte value, then of it followed by one to seven zero bytes. */
+	private static final int[][]	TABLES		= new int[8][256];
+
+	static
+	{
+		for (int value = 0; value < 256; value++)
+		{
+			int crc = value;
+
+			for (int bit = 0; bit < 8; bit++)
+			{
+				crc = ((crc & 1) != 0) ? ((crc >>> 1) ^ POLYNOMIAL) : (crc >>> 1);
+			}
+
+			TABLES[0][value] = crc;
+		}
+
+		for (int value = 0; value < 256; value++)
+		{
+			for (int table = 1; table < 8; table++)
+			{
+				final int previous = TABLES[table - 1][value];
+				TABLES[table][value] = (previous >>> 8) ^ TABLES[0][previous & 0xFF];
+			}
+		}
+	}
+
+	/**
+	 * Computes the CRC of the bytes.
+	 *
+	 * @param bytes
+	 *            Bytes.
+	 * @param offset
+	 *            Offset of the first.
+	 * @param length
+	 *            Number of bytes.
+	 * @return the CRC
+	 */
+	static int compute(final byte[] bytes, final int offset, final int length)
+	{
+		final int[] t0 = TABLES[0], t1 = TABLES[1], t2 = TABLES[2], t3 = TABLES[3];
+		final int[] t4 = TABLES[4], t5 = TABLES[5], t6 = TABLES[6], t7 = TABLES[7];
+		final int end = offset + length;
+
+		int crc = ~0;
+		int i = offset;
+
+		for (; (end - i) >= 8; i += 8)
+		{
+			crc ^= (bytes[i] & 0xFF) | ((bytes[i + 1] & 0xFF) << 8) | ((bytes[i + 2] & 0xFF) << 16) | (bytes[i + 3] << 24);
+			crc = t7[crc & 0xFF] ^ t6[(crc >>> 8) & 0xFF] ^ t5[(crc >>> 16) & 0xFF] ^ t4[crc >>> 24]
+					^ t3[bytes[i + 4] & 0xFF] ^ t2[bytes[i + 5] & 0xFF] ^ t1[bytes[i + 6] & 0xFF] ^ t0[bytes[i + 7] & 0xFF];
+		}
+
+		for (; i < end; i++)
+		{
+			crc = (crc >>> 8) ^ t0[(crc ^ bytes[i]) & 0xFF];
+		}
+
+		return ~crc;
+	}
+
+	private Crc32c()
+	{}
+
+}
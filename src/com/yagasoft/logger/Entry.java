@@ -0,0 +1,468 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Entry.java
+ *
+ *			Modified: 17-Oct-2026 (23:59:12)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.util.Arrays;
+
+import com.yagasoft.logger.Logger.EntryType;
+
+
+/**
+ * A log entry: the time it was posted, and all the segments posted by one call (label, and text), kept together
+ * so they reach the log in one piece.<br />
+ * A segment is a span of a string. It's either styled already (e.g. labels), or a raw message, along with what's needed
+ * to colour it; the colouring markup of messages is only resolved by the ones writing them with styles, so posting
+ * doesn't pay for it, and the plain text log takes messages as they are.<br />
+ * Each thread builds its entries in its own instance, which is then copied into a slot of the ring in one go.
+ * Instances grow as needed, and are reused, so nothing is allocated once they're big enough.
+ */
+final class Entry
+{
+
+	/** Markup of a segment that's styled already. */
+	static final int			STYLED				= -1;
+
+	/*
+	 * Otherwise, the markup of a message is the number of colours to cycle through for the words wrapped in '`',
+	 * and, for a sequence (see Logger.infoColouredSequence), these flags.
+	 */
+	private static final int	COLOURS_MASK		= 0xFFFF;
+	private static final int	BLACK_LAST			= 1 << 16;
+	private static final int	REMOVE_SEPARATOR	= 1 << 17;
+
+	/** Markup of an error message: red, with the words wrapped in '`' in black; above the colours, so no count is it. */
+	static final int			ERROR				= 1 << 18;
+
+	private static final int	INITIAL_SEGMENTS	= 16;
+
+	private String[]			texts				= new String[INITIAL_SEGMENTS];
+	private int[]				starts				= new int[INITIAL_SEGMENTS];
+	private int[]				ends				= new int[INITIAL_SEGMENTS];
+	private int[]				styles				= new int[INITIAL_SEGMENTS];
+	private int[]				markups				= new int[INITIAL_SEGMENTS];
+	private String[]			separators			= new String[INITIAL_SEGMENTS];
+	private int					size;
+
+	/* when it was posted, in microseconds since the epoch; see Clock. */
+	private long				time;
+
+	/* font size when it was posted; used for the time stamp's style. */
+	private int					fontSize;
+
+	/* ID of the thread that posted it. */
+	private long				threadId;
+
+	/* where it's kept in the journal, until it's written; see Journal. */
+	private long				journalPosition		= Journal.NOT_JOURNALED;
+
+	/* kind of entry. */
+	private EntryType			type				= EntryType.INFO;
+
+	/* only save to disk, don't show. */
+	private boolean				saveOnly;
+
+	/* set while a thread is building this entry. */
+	private boolean				building;
+
+	/**
+	 * Adds a segment to the end of this entry.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param style
+	 *            Style ID; see {@link Logger#getStyleFontSize(int)}.
+	 */
+	void add(final String text, final int style)
+	{
+		add(text, 0, text.length(), style);
+	}
+
+	/**
+	 * Adds a span of this text as a segment to the end of this entry.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param start
+	 *            Start of the span.
+	 * @param end
+	 *            End of the span (exclusive).
+	 * @param style
+	 *            Style ID; see {@link Logger#getStyleFontSize(int)}.
+	 */
+	void add(final String text, final int start, final int end, final int style)
+	{
+		add(text, start, end, style, STYLED, null);
+	}
+
+	/**
+	 * Adds a message to the end of this entry, to be coloured using its markup when written.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param style
+	 *            Style ID of the parts that aren't coloured; see {@link Logger#getStyleFontSize(int)}.
+	 * @param colours
+	 *            Number of colours to cycle through for the words wrapped in '`', or {@link #ERROR}.
+	 */
+	void addMessage(final String text, final int style, final int colours)
+	{
+		add(text, 0, text.length(), style, (colours == ERROR) ? ERROR : (colours & COLOURS_MASK), null);
+	}
+
+	/**
+	 * Adds a span of a string made of parts joined by a separator, where each part is to be coloured when written.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param end
+	 *            End of the span (exclusive); the span starts at the start of the text.
+	 * @param style
+	 *            Style ID of the separators, and the last part if black; see {@link Logger#getStyleFontSize(int)}.
+	 * @param colours
+	 *            Number of colours to cycle through for the parts.
+	 * @param separator
+	 *            Separator, taken literally.
+	 * @param blackLast
+	 *            Don't colour the last part.
+	 * @param removeSeparator
+	 *            Don't show the separators.
+	 */
+	void addSequence(final String text, final int end, final int style, final int colours, final String separator
+			, final boolean blackLast, final boolean removeSeparator)
+	{
+		add(text, 0, end, style, (colours & COLOURS_MASK) | (blackLast ? BLACK_LAST : 0)
+				| (removeSeparator ? REMOVE_SEPARATOR : 0), separator);
+	}
+
+	/**
+	 * Adds a span of this text as a segment to the end of this entry, as is; e.g. as read back from a binary log.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param start
+	 *            Start of the span.
+	 * @param end
+	 *            End of the span (exclusive).
+	 * @param style
+	 *            Style ID.
+	 * @param markup
+	 *            Markup; see {@link #getMarkup(int)}.
+	 * @param separator
+	 *            Separator of a sequence, or null.
+	 */
+	void add(final String text, final int start, final int end, final int style, final int markup
+			, final String separator)
+	{
+		ensureCapacity(size + 1);
+
+		texts[size] = text;
+		starts[size] = start;
+		ends[size] = end;
+		styles[size] = style;
+		markups[size] = markup;
+		separators[size] = separator;
+		size++;
+	}
+
+	/**
+	 * Copies the segments and flags of the entry passed into this one, replacing what's in here.
+	 *
+	 * @param entry
+	 *            Entry to copy.
+	 */
+	void copyFrom(final Entry entry)
+	{
+		ensureCapacity(entry.size);
+
+		System.arraycopy(entry.texts, 0, texts, 0, entry.size);
+		System.arraycopy(entry.starts, 0, starts, 0, entry.size);
+		System.arraycopy(entry.ends, 0, ends, 0, entry.size);
+		System.arraycopy(entry.styles, 0, styles, 0, entry.size);
+		System.arraycopy(entry.markups, 0, markups, 0, entry.size);
+		System.arraycopy(entry.separators, 0, separators, 0, entry.size);
+
+		// clear the leftovers of a longer entry, so they can be collected.
+		if (size > entry.size)
+		{
+			Arrays.fill(texts, entry.size, size, null);
+			Arrays.fill(separators, entry.size, size, null);
+		}
+
+		size = entry.size;
+		time = entry.time;
+		fontSize = entry.fontSize;
+		threadId = entry.threadId;
+		journalPosition = entry.journalPosition;
+		type = entry.type;
+		saveOnly = entry.saveOnly;
+	}
+
+	/**
+	 * Removes all segments, and resets the flags.
+	 */
+	void clear()
+	{
+		Arrays.fill(texts, 0, size, null);
+		Arrays.fill(separators, 0, size, null);
+		size = 0;
+		time = 0;
+		fontSize = 0;
+		threadId = 0;
+		journalPosition = Journal.NOT_JOURNALED;
+		type = EntryType.INFO;
+		saveOnly = false;
+		building = false;
+	}
+
+	private void ensureCapacity(final int capacity)
+	{
+		if (capacity > texts.length)
+		{
+			final int newLength = Math.max(capacity, texts.length * 2);
+			texts = Arrays.copyOf(texts, newLength);
+			starts = Arrays.copyOf(starts, newLength);
+			ends = Arrays.copyOf(ends, newLength);
+			styles = Arrays.copyOf(styles, newLength);
+			markups = Arrays.copyOf(markups, newLength);
+			separators = Arrays.copyOf(separators, newLength);
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters and setters.
+	//======================================================================================
+
+	/**
+	 * @return the number of segments
+	 */
+	int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return the text the segment is a span of
+	 */
+	String getText(final int index)
+	{
+		return texts[index];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return where the segment starts in its text
+	 */
+	int getStart(final int index)
+	{
+		return starts[index];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return where the segment ends (exclusive) in its text
+	 */
+	int getEnd(final int index)
+	{
+		return ends[index];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return the style ID of the segment
+	 */
+	int getStyle(final int index)
+	{
+		return styles[index];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return {@link #STYLED}, {@link #ERROR}, or the number of colours and flags of a message;
+	 *         see {@link #getColours(int)}
+	 */
+	int getMarkup(final int index)
+	{
+		return markups[index];
+	}
+
+	/**
+	 * @param markup
+	 *            Markup of a message, other than {@link #ERROR}.
+	 * @return the number of colours to cycle through
+	 */
+	static int getColours(final int markup)
+	{
+		return markup & COLOURS_MASK;
+	}
+
+	/**
+	 * @param markup
+	 *            Markup of a sequence.
+	 * @return whether the last part is left black
+	 */
+	static boolean isBlackLast(final int markup)
+	{
+		return (markup & BLACK_LAST) != 0;
+	}
+
+	/**
+	 * @param markup
+	 *            Markup of a sequence.
+	 * @return whether the separators are hidden
+	 */
+	static boolean isSeparatorRemoved(final int markup)
+	{
+		return (markup & REMOVE_SEPARATOR) != 0;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the segment.
+	 * @return the separator, if the segment is a sequence, or null
+	 */
+	String getSeparator(final int index)
+	{
+		return separators[index];
+	}
+
+	/**
+	 * @return the time
+	 */
+	long getTime()
+	{
+		return time;
+	}
+
+	/**
+	 * @param time
+	 *            the time to set
+	 */
+	void setTime(final long time)
+	{
+		this.time = time;
+	}
+
+	/**
+	 * @return the fontSize
+	 */
+	int getFontSize()
+	{
+		return fontSize;
+	}
+
+	/**
+	 * @param fontSize
+	 *            the fontSize to set
+	 */
+	void setFontSize(final int fontSize)
+	{
+		this.fontSize = fontSize;
+	}
+
+	/**
+	 * @return the threadId
+	 */
+	long getThreadId()
+	{
+		return threadId;
+	}
+
+	/**
+	 * @param threadId
+	 *            the threadId to set
+	 */
+	void setThreadId(final long threadId)
+	{
+		this.threadId = threadId;
+	}
+
+	/**
+	 * @return the journalPosition; {@link Journal#NOT_JOURNALED} if it's not in the journal
+	 */
+	long getJournalPosition()
+	{
+		return journalPosition;
+	}
+
+	/**
+	 * @param journalPosition
+	 *            the journalPosition to set
+	 */
+	void setJournalPosition(final long journalPosition)
+	{
+		this.journalPosition = journalPosition;
+	}
+
+	/**
+	 * @return the type
+	 */
+	EntryType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * @param type
+	 *            the type to set
+	 */
+	void setType(final EntryType type)
+	{
+		this.type = type;
+	}
+
+	/**
+	 * @return the saveOnly
+	 */
+	boolean isSaveOnly()
+	{
+		return saveOnly;
+	}
+
+	/**
+	 * @param saveOnly
+	 *            the saveOnly to set
+	 */
+	void setSaveOnly(final boolean saveOnly)
+	{
+		this.saveOnly = saveOnly;
+	}
+
+	/**
+	 * @return the building
+	 */
+	boolean isBuilding()
+	{
+		return building;
+	}
+
+	/**
+	 * @param building
+	 *            the building to set
+	 */
+	void setBuilding(final boolean building)
+	{
+		this.building = building;
+	}
+
+	//======================================================================================
+	// #endregion Getters and setters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/EntryIndex.java
+ *
+ *			Modified: 17-Oct-2026 (23:08:05)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.util.Arrays;
+
+
+/**
+ * Where an entry starts in a log file about every {@link LogIndex#INTERVAL} bytes, with its number in the file, and
+ * when it was posted, in the order they were written; the same points as the copy on disk ({@link LogIndex}).<br />
+ * Used to find the part of the file holding a range of entries, or of time: seek to the point found here, then read
+ * on; at most an interval or so of the file is read. It takes a few bytes per interval, however long the file.
+ * Entries are written in about the order they're posted, so times are taken as sorted; an entry posted out of order
+ * (e.g. spilled) only shifts the boundary of a time range by that entry.<br />
+ * Not thread-safe: the writer adds to it while holding the write lock of the file; readers take a {@link #copy()}.
+ */
+final class EntryIndex
+{
+
+	private long[]			entries		= new long[64];
+	private long[]			times		= new long[64];
+	private long[]			offsets		= new long[64];
+	private int				points;
+
+	/* number of entries, and where the last point is in the file. */
+	private long			count;
+	private long			lastPoint	= -LogIndex.INTERVAL;
+
+	/* writes the copy on disk, if any. */
+	private LogIndex.Writer	writer;
+
+	/**
+	 * Adds an entry to the end of the index; it becomes a point if it's an interval or more after the last one.
+	 *
+	 * @param offset
+	 *            Where the entry starts in the file, in bytes (before compression, if any).
+	 * @param time
+	 *            When it was posted, in microseconds since the epoch.
+	 */
+	void add(final long offset, final long time)
+	{
+		if ((offset - lastPoint) >= LogIndex.INTERVAL)
+		{
+			if (points == offsets.length)
+			{
+				entries = Arrays.copyOf(entries, points * 2);
+				times = Arrays.copyOf(times, points * 2);
+				offsets = Arrays.copyOf(offsets, points * 2);
+			}
+
+			entries[points] = count;
+			times[points] = time;
+			offsets[points] = offset;
+			points++;
+			lastPoint = offset;
+		}
+
+		if (writer != null)
+		{
+			try
+			{
+				writer.add(count, time, offset);
+			}
+			catch (final IOException e)
+			{	// it can be rebuilt from the file later.
+				e.printStackTrace();
+				closeWriter();
+			}
+		}
+
+		count++;
+	}
+
+	/**
+	 * Sets the writer of the copy of the index on disk; entries added from now on are passed to it.
+	 *
+	 * @param writer
+	 *            Writer, or null to keep the index in memory only.
+	 */
+	void setWriter(final LogIndex.Writer writer)
+	{
+		closeWriter();
+		this.writer = writer;
+	}
+
+	/**
+	 * Closes the writer of the copy on disk, if any.
+	 */
+	void closeWriter()
+	{
+		if (writer == null)
+		{
+			return;
+		}
+
+		try
+		{
+			writer.close();
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+		}
+
+		writer = null;
+	}
+
+	/**
+	 * Removes all entries, for a new file.
+	 */
+	void clear()
+	{
+		points = 0;
+		count = 0;
+		lastPoint = -LogIndex.INTERVAL;
+	}
+
+	/**
+	 * @return a copy of the points, for reading without the write lock; it has no writer
+	 */
+	EntryIndex copy()
+	{
+		final EntryIndex copy = new EntryIndex();
+		copy.entries = Arrays.copyOf(entries, Math.max(points, 1));
+		copy.times = Arrays.copyOf(times, Math.max(points, 1));
+		copy.offsets = Arrays.copyOf(offsets, Math.max(points, 1));
+		copy.points = points;
+		copy.count = count;
+		copy.lastPoint = lastPoint;
+
+		return copy;
+	}
+
+	/**
+	 * @return the number of entries
+	 */
+	long size()
+	{
+		return count;
+	}
+
+	/**
+	 * @return the number of points; the first entry is always one
+	 */
+	int getPointCount()
+	{
+		return points;
+	}
+
+	/**
+	 * @param point
+	 *            Point number.
+	 * @return the number, in the file, of the entry at the point
+	 */
+	long getEntry(final int point)
+	{
+		return entries[point];
+	}
+
+	/**
+	 * @param point
+	 *            Point number.
+	 * @return where the entry at the point starts in the file
+	 */
+	long getOffset(final int point)
+	{
+		return offsets[point];
+	}
+
+	/**
+	 * @param entry
+	 *            Entry number in the file, from 0.
+	 * @return the number of the last point at, or before, the entry; or -1 if there are none
+	 */
+	int seekEntry(final long entry)
+	{
+		int low = 0;
+		int high = points;
+
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+
+			if (entries[middle] <= entry)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return (points == 0) ? -1 : Math.max(low - 1, 0);
+	}
+
+	/**
+	 * @param time
+	 *            Time in microseconds since the epoch.
+	 * @return the number of the last point before the time, or the first point; the first entry posted at, or after,
+	 *         the time is after it. Or -1 if there are none
+	 */
+	int seekTime(final long time)
+	{
+		int low = 0;
+		int high = points;
+
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+
+			if (times[middle] < time)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return (points == 0) ? -1 : Math.max(low - 1, 0);
+	}
+
+}
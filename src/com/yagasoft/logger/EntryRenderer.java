@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/EntryRenderer.java
+ *
+ *			Modified: 17-Oct-2026 (21:18:40)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+/**
+ * Forms what an entry looks like in each output: plain text for the text log, or span by span, each with its style,
+ * for the window and the HTML log; the time stamp first, then the messages, coloured by their markup.<br />
+ * Used by the writers of the outputs, and to convert binary logs. Not thread-safe: each thread needs its own.
+ */
+final class EntryRenderer
+{
+
+	/**
+	 * Takes the styled spans of an entry, in order.
+	 */
+	@FunctionalInterface
+	interface ISpanConsumer
+	{
+
+		/**
+		 * @param source
+		 *            Text the span is in; only valid during the call.
+		 * @param start
+		 *            Start of the span.
+		 * @param end
+		 *            End of the span (exclusive).
+		 * @param style
+		 *            Style ID; see {@link Logger#getStyleFontSize(int)}.
+		 */
+		void span(CharSequence source, int start, int end, int style);
+
+	}
+
+	private final Logger				logger		= Log.getInstance();
+	private final TimeStampFormatter	formatter	= new TimeStampFormatter(logger);
+
+	/* time stamp of the entry being rendered, as a span. */
+	private final StringBuilder			time		= new StringBuilder(32);
+
+	/* resolves the colouring markup of the messages in the entry being rendered. */
+	private final Markup				markup		= new Markup();
+
+	/**
+	 * Appends the entry as written to the text log: the time stamp, then the spans of the messages, without the marks.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @param text
+	 *            Text to append to.
+	 */
+	void renderText(final Entry entry, final StringBuilder text)
+	{
+		text.append(formatter.formatDate(entry.getTime()));
+		formatter.formatTime(entry.getTime(), text);
+		renderMessages(entry, text);
+	}
+
+	/**
+	 * Appends the messages of the entry as written to the text log, without the time stamp.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @param text
+	 *            Text to append to.
+	 */
+	void renderMessages(final Entry entry, final StringBuilder text)
+	{
+		for (int i = 0; i < entry.size(); i++)
+		{
+			if (entry.getMarkup(i) == Entry.STYLED)
+			{
+				text.append(entry.getText(i), entry.getStart(i), entry.getEnd(i));
+				continue;
+			}
+
+			final String source = entry.getText(i);
+			final int spans = parse(entry, i);
+
+			for (int span = 0; span < spans; span++)
+			{
+				text.append(source, markup.start(span), markup.end(span));
+			}
+		}
+	}
+
+	/**
+	 * Appends the entry as written to the HTML log: each span in an element of the CSS class of its style.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @param html
+	 *            HTML to append to.
+	 */
+	void renderHtml(final Entry entry, final StringBuilder html)
+	{
+		renderSpans(entry, (source, start, end, style) ->
+				HTMLEncoder.encode(html, source, start, end, logger.getCssClass(style)));
+	}
+
+	/**
+	 * Passes each span of the entry to the consumer, with its style.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @param consumer
+	 *            Consumer.
+	 * @return the style ID of the last span
+	 */
+	int renderSpans(final Entry entry, final ISpanConsumer consumer)
+	{
+		final String date = formatter.formatDate(entry.getTime());
+		time.setLength(0);
+		formatter.formatTime(entry.getTime(), time);
+
+		consumer.span(date, 0, date.length(), logger.getDateStyle(entry.getFontSize()));
+		consumer.span(time, 0, time.length(), logger.getTimeStyle(entry.getFontSize()));
+
+		int style = logger.getTimeStyle(entry.getFontSize());
+
+		for (int i = 0; i < entry.size(); i++)
+		{
+			style = entry.getStyle(i);
+
+			if (entry.getMarkup(i) == Entry.STYLED)
+			{
+				consumer.span(entry.getText(i), entry.getStart(i), entry.getEnd(i), style);
+			}
+			else
+			{
+				renderMessage(entry, i, consumer);
+			}
+		}
+
+		return style;
+	}
+
+	private void renderMessage(final Entry entry, final int index, final ISpanConsumer consumer)
+	{
+		final String text = entry.getText(index);
+		final int markupType = entry.getMarkup(index);
+		final int spans = parse(entry, index);
+
+		for (int i = 0; i < spans; i++)
+		{
+			consumer.span(text, markup.start(i), markup.end(i)
+					, logger.getMarkupStyle(entry.getFontSize(), markupType, markup.section(i)));
+		}
+	}
+
+	/* parse the markup of the message; returns the number of spans. */
+	private int parse(final Entry entry, final int index)
+	{
+		final String text = entry.getText(index);
+		final int markupType = entry.getMarkup(index);
+		final String separator = entry.getSeparator(index);
+
+		return (separator == null)
+				? markup.parse(text, entry.getStart(index), entry.getEnd(index))
+				: markup.parseSequence(text, entry.getStart(index), entry.getEnd(index), separator
+						, Entry.isBlackLast(markupType), Entry.isSeparatorRemoved(markupType));
+	}
+
+}
@@ -0,0 +1,645 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/EntryWriter.java
+ *
+ *			Modified: 17-Oct-2026 (20:06:51)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.yagasoft.logger.Log.OverflowPolicy;
+import com.yagasoft.logger.Logger.EntryType;
+
+
+/**
+ * Takes the entries posted, through a ring, and hands each to every sink: the text log file, the HTML log file, and the
+ * binary log file if chosen, the log window if there's one, and the sinks added ({@link ISink}). Each sink reads the
+ * ring through its own cursor, on its own thread, so the files never wait for the window (e.g. while its scroll bar is
+ * held); the window skips what it can't keep up with instead.<br />
+ * The window is only known as an {@link ILogView}, so when the log is headless, nothing of Swing, or AWT, is loaded.
+ */
+final class EntryWriter
+{
+
+	private static EntryWriter							instance;
+
+	private final Logger								logger				= Log.getInstance();
+
+	/* shows the entries; null if headless. */
+	private volatile ILogView							view;
+
+	/* size of the ring holding entries waiting to be written to the log. */
+	private final static int							RING_SIZE			= 1024;
+
+	// ring used to receive entries sent; each slot carries all the segments of an entry, with their styles.
+	private final RingBuffer<Entry>						ring				= new RingBuffer<Entry>(RING_SIZE, Entry::new);
+
+	/* ring occupancy after which sampling kicks in. */
+	private final static int							HIGH_WATER_MARK		= (RING_SIZE * 3) / 4;
+
+	/* how far the window can fall behind before it starts skipping entries; below the mark above, so it never samples. */
+	private final static int							VIEW_LAG_LIMIT		= RING_SIZE / 2;
+
+	/* how long to wait (nanos) between checks while draining at shutdown, or while the window is held. */
+	private final static long							DRAIN_PARK_NANOS	= 1000000;
+
+	/* how many times to check for room after asking the slowest sink to discard the oldest entry. */
+	private final static int							DISCARD_ATTEMPTS	= 100;
+
+	private final AtomicLong							sampleCounter		= new AtomicLong();
+
+	/* what the last session didn't write, taken out of the journal when opened; posted once the log is initialised. */
+	private List<Entry>									recovered			= Collections.emptyList();
+
+	/* keeps the entries until they're written to the text log file, if chosen; see Log.setJournaling(). */
+	private final Journal								journal				= logger.isJournaling() ? openJournal() : null;
+
+	/* holds what finds no room in the ring, by OverflowPolicy.SPILL_TO_DISK, and feeds it back in order. */
+	private final SpillFile								spillFile			= new SpillFile(File.getInstance()
+																				.getLogsFolder().resolve("overflow.spill")
+																				, this::replay);
+
+	/* the sinks; each with its own cursor in the ring. */
+	private final Sink									textSink			= new TextSink();
+
+	/* null if not chosen; see Log.setHtmlWriting() and Log.setBinaryWriting(). */
+	private final Sink									htmlSink			= logger.isHtmlWriting() ? new HtmlSink() : null;
+	private final Sink									binarySink			= logger.isBinaryWriting() ? new BinarySink() : null;
+	private volatile Sink								viewSink;
+
+	/* passes the entries to the sinks added, which are replaced as a whole when one is added. */
+	private volatile Sink								dispatchSink;
+	private volatile SinkRunner[]						runners				= new SinkRunner[0];
+
+	/* start the threads of the file sinks. */
+	private void initWriter()
+	{
+		textSink.start();
+
+		if (htmlSink != null)
+		{
+			htmlSink.start();
+		}
+
+		if (binarySink != null)
+		{
+			binarySink.start();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Posting.
+	//======================================================================================
+
+	/* append the entry to the ring as is, for the sinks to write it. It's copied, so it can be reused right after. */
+	void append(final Entry entry)
+	{
+		if (journal != null)
+		{
+			entry.setJournalPosition(journal.append(entry));
+		}
+
+		final long sequence = claim(entry);
+
+		// dropped, or spilled, by the overflow policy.
+		if (sequence < 0)
+		{
+			return;
+		}
+
+		ring.get(sequence).copyFrom(entry);
+		ring.publish(sequence);
+	}
+
+	/*
+	 * Claims a slot in the ring for this entry, applying the overflow policy if there is no room.
+	 * Never waits, unless the policy is to block. Returns -1 if the entry is not to be added to the ring.
+	 */
+	private long claim(final Entry entry)
+	{
+		final OverflowPolicy policy = logger.getOverflowPolicy();
+
+		if (policy == OverflowPolicy.BLOCK)
+		{
+			return ring.claim();
+		}
+
+		// follow the entries spilled before, rather than overtake them.
+		if ((policy == OverflowPolicy.SPILL_TO_DISK) && spillFile.isSpilling())
+		{
+			return spill(entry);
+		}
+
+		// when nearly full, keep only one in every 'sample rate' entries, so the room left lasts longer.
+		if ((policy == OverflowPolicy.SAMPLE) && (ring.size() >= HIGH_WATER_MARK)
+				&& ((sampleCounter.incrementAndGet() % logger.getSampleRate()) != 0))
+		{
+			logger.getMetrics().countSampledOut();
+			dropped(entry);
+			return -1;
+		}
+
+		long sequence = ring.tryClaim();
+
+		if (sequence >= 0)
+		{
+			return sequence;
+		}
+
+		if (policy == OverflowPolicy.DROP_OLDEST)
+		{
+			// ask the sinks to throw away the oldest entry, and give them a moment to make room.
+			ring.discardOldest();
+
+			for (int i = 0; (i < DISCARD_ATTEMPTS) && (sequence < 0); i++)
+			{
+				Thread.yield();
+				sequence = ring.tryClaim();
+			}
+
+			if (sequence >= 0)
+			{
+				// there was room after all; withdraw the request if it's still waiting, so nothing is thrown away.
+				ring.takeDiscard();
+				return sequence;
+			}
+
+			// the sinks are stuck (disk busy?), so withdraw the request, and drop this one instead.
+			ring.takeDiscard();
+		}
+		else if (policy == OverflowPolicy.SPILL_TO_DISK)
+		{
+			return spill(entry);
+		}
+
+		logger.getMetrics().countDroppedNewest();
+		dropped(entry);
+		return -1;
+	}
+
+	/* spill the entry to the disk, or drop it if there's no room there either; returns -1 either way. */
+	private long spill(final Entry entry)
+	{
+		if (spillFile.offer(entry))
+		{
+			logger.getMetrics().countSpilled();
+		}
+		else
+		{
+			logger.getMetrics().countDroppedNewest();
+			dropped(entry);
+		}
+
+		return -1;
+	}
+
+	/* the entry will never be written, so it's done with in the journal, if any. */
+	private void dropped(final Entry entry)
+	{
+		if (journal != null)
+		{
+			journal.done(entry.getJournalPosition());
+		}
+	}
+
+	/* append an entry spilled before to the ring, waiting for room; on the replaying thread of the spill file. */
+	private void replay(final Entry entry)
+	{
+		final long sequence = ring.claim();
+		ring.get(sequence).copyFrom(entry);
+		ring.publish(sequence);
+	}
+
+	//======================================================================================
+	// #endregion Posting.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Sinks.
+	//======================================================================================
+
+	/*
+	 * Reads every entry from the ring, in order, on a thread of its own.
+	 * A sink that isn't lossy holds up the producers until it's done with an entry, and serves their discard requests
+	 * when it's the slowest; a lossy one (the window) skips entries instead.
+	 */
+	private abstract class Sink
+	{
+
+		protected final RingBuffer<Entry>.Cursor	cursor		= ring.newCursor();
+
+		// the entry being written, copied out of the ring.
+		protected final Entry						current		= new Entry();
+
+		private final boolean						lossy;
+
+		/* of the sink's thread. */
+		private final String						name;
+
+		/* set while the sink writes an entry it released from the ring. */
+		private volatile boolean					writing;
+
+		Sink(final boolean lossy, final String name)
+		{
+			this.lossy = lossy;
+			this.name = name;
+		}
+
+		/* start the sink's thread. */
+		void start()
+		{
+			new Thread(() ->
+			{
+				while (true)
+				{
+					take();
+				}
+			}, name).start();
+		}
+
+		private void take()
+		{
+			if ( !logger.isInitialised())
+			{
+				LockSupport.parkNanos(DRAIN_PARK_NANOS);
+				return;
+			}
+
+			try
+			{
+				final Entry slot = cursor.take();
+
+				// a producer needed room, and no file sink has written this entry yet, so it's the oldest that can
+				// be thrown away for all of them, keeping the log files the same; the slowest skips it when it gets
+				// to it. If another sink kept it just now, the request is left for the next entry.
+				if ( !lossy && !cursor.isKept() && ring.takeDiscard())
+				{
+					if (cursor.discard())
+					{
+						dropped(slot);
+						cursor.release();
+						logger.getMetrics().countDroppedOldest();
+						return;
+					}
+
+					ring.discardOldest();
+				}
+
+				// thrown away by another sink.
+				if (lossy ? cursor.isDiscarded() : !cursor.keep())
+				{
+					cursor.release();
+					return;
+				}
+
+				// copy the entry out, and free its slot as soon as possible.
+				current.copyFrom(slot);
+				writing = true;
+				cursor.release();
+
+				write();
+			}
+			catch (final Exception e)
+			{	// skip the entry, but keep going, or the producers would wait on this sink forever.
+				e.printStackTrace();
+			}
+			finally
+			{
+				current.clear();
+				writing = false;
+			}
+		}
+
+		/* write the current entry. */
+		abstract void write() throws InterruptedException;
+
+		/* entries in the ring this sink hasn't written yet. */
+		int left()
+		{
+			return cursor.lag() + (writing ? 1 : 0);
+		}
+
+	}
+
+	/* the text log file takes each entry as one line of plain text. */
+	private final class TextSink extends Sink
+	{
+
+		private final EntryRenderer	renderer	= new EntryRenderer();
+
+		/* text of the entry being written, sent to the log file in one piece. */
+		private final StringBuilder	text		= new StringBuilder(256);
+
+		TextSink()
+		{
+			super(false, "Logger text sink");
+		}
+
+		@Override
+		void write()
+		{
+			text.setLength(0);
+			renderer.renderText(current, text);
+			File.getInstance().queueForWrite(text.toString(), current.getTime(), current.getType() != EntryType.INFO
+					, current.getJournalPosition());
+		}
+
+	}
+
+	/* the HTML log file takes each entry as a run of spans, styled by CSS class, on a line of its own. */
+	private final class HtmlSink extends Sink
+	{
+
+		private final EntryRenderer	renderer	= new EntryRenderer();
+		private final StringBuilder	html		= new StringBuilder(1024);
+
+		HtmlSink()
+		{
+			super(false, "Logger HTML sink");
+		}
+
+		@Override
+		void write()
+		{
+			html.setLength(0);
+			renderer.renderHtml(current, html);
+			html.append('\n');
+			File.getInstance().writeToHTML(html.toString(), current.getTime());
+		}
+
+	}
+
+	/* the binary log file takes each entry as posted, encoded on this thread, so the file writer only copies it. */
+	private final class BinarySink extends Sink
+	{
+
+		private final BinaryLog	binaryLog	= new BinaryLog();
+
+		BinarySink()
+		{
+			super(false, "Logger binary sink");
+		}
+
+		@Override
+		void write()
+		{
+			File.getInstance().writeToBinary(binaryLog.encode(current));
+		}
+
+	}
+
+	/* the window is only a view of the log: rather than hold up the files, it skips what it can't keep up with. */
+	private final class ViewSink extends Sink
+	{
+
+		private final ILogView							view;
+		private final EntryRenderer						renderer	= new EntryRenderer();
+		private final EntryRenderer.ISpanConsumer		spans		= this::span;
+
+		ViewSink(final ILogView view)
+		{
+			super(true, "Logger view sink");
+			this.view = view;
+		}
+
+		@Override
+		void write() throws InterruptedException
+		{
+			if (current.isSaveOnly())
+			{
+				return;
+			}
+
+			// wait for the view (scroll bar held?) only as long as the others have room to go on;
+			// if it's still held, or too slow to show them all, skip to catch up.
+			while (cursor.lag() < VIEW_LAG_LIMIT)
+			{
+				if (view.awaitWriting(DRAIN_PARK_NANOS))
+				{
+					view.endEntry(renderer.renderSpans(current, spans));
+					return;
+				}
+			}
+
+			logger.getMetrics().countSkippedByView();
+		}
+
+		private void span(final CharSequence source, final int start, final int end, final int style)
+		{
+			// the document needs a string of its own, so only now is the span copied, unless it's the whole string anyway.
+			view.showSegment(((source instanceof String) && (start == 0) && (end == source.length()))
+					? (String) source : source.subSequence(start, end).toString(), style);
+		}
+
+	}
+
+	/* turns each entry into an event, and queues it for every sink added; they're all on threads of their own. */
+	private final class DispatchSink extends Sink
+	{
+
+		private final EntryRenderer	renderer	= new EntryRenderer();
+		private final StringBuilder	message		= new StringBuilder(256);
+
+		DispatchSink()
+		{
+			// never holds up the others for long, and doesn't drop entries for the files.
+			super(true, "Logger dispatch sink");
+		}
+
+		@Override
+		void write()
+		{
+			message.setLength(0);
+			renderer.renderMessages(current, message);
+
+			final LogEvent event = new LogEvent(current.getTime(), current.getType(), message.toString());
+
+			for (final SinkRunner runner : runners)
+			{
+				runner.offer(event);
+			}
+		}
+
+	}
+
+	/*
+	 * Waits for the file sinks to write all the entries in the ring, letting the window through if it's holding it.
+	 * The sinks added get the rest of the time to take theirs.
+	 * Returns the number of entries left when done, or at the deadline (System.nanoTime()).
+	 */
+	int drain(final long deadline)
+	{
+		final ILogView view = this.view;
+
+		if (view != null)
+		{
+			view.releaseWriting();
+		}
+
+		while (((fileEntriesLeft() > 0) || (spillFile.left() > 0)) && (System.nanoTime() < deadline))
+		{
+			LockSupport.parkNanos(DRAIN_PARK_NANOS);
+		}
+
+		final int left = fileEntriesLeft() + spillFile.left();
+
+		final Sink dispatchSink = this.dispatchSink;
+
+		if (dispatchSink != null)
+		{
+			while ((dispatchSink.left() > 0) && (System.nanoTime() < deadline))
+			{
+				LockSupport.parkNanos(DRAIN_PARK_NANOS);
+			}
+
+			for (final SinkRunner runner : runners)
+			{
+				while ((runner.left() > 0) && (System.nanoTime() < deadline))
+				{
+					LockSupport.parkNanos(DRAIN_PARK_NANOS);
+				}
+			}
+		}
+
+		return left;
+	}
+
+	/* entries in the ring the slowest file sink hasn't written yet. */
+	private int fileEntriesLeft()
+	{
+		return Math.max(Math.max(textSink.left(), (htmlSink == null) ? 0 : htmlSink.left())
+				, (binarySink == null) ? 0 : binarySink.left());
+	}
+
+	/* close the sinks added, after draining. */
+	void closeSinks()
+	{
+		for (final SinkRunner runner : runners)
+		{
+			runner.close();
+		}
+	}
+
+	//======================================================================================
+	// #endregion Sinks.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Shows the entries posted from now on in this view, on a sink of its own. Set it once.
+	 *
+	 * @param view
+	 *            the view to show the entries in
+	 */
+	void setView(final ILogView view)
+	{
+		synchronized (this)
+		{
+			if (viewSink != null)
+			{
+				return;
+			}
+
+			this.view = view;
+			viewSink = new ViewSink(view);
+			viewSink.start();
+		}
+	}
+
+	/**
+	 * Starts the sink, and passes it the entries written from now on.
+	 *
+	 * @param sink
+	 *            the sink
+	 */
+	void addSink(final ISink sink)
+	{
+		synchronized (this)
+		{
+			final SinkRunner runner = new SinkRunner(sink, logger.getMetrics());
+			runner.start();
+
+			final SinkRunner[] added = Arrays.copyOf(runners, runners.length + 1);
+			added[runners.length] = runner;
+			runners = added;
+
+			if (dispatchSink == null)
+			{
+				dispatchSink = new DispatchSink();
+				dispatchSink.start();
+			}
+		}
+	}
+
+	/* open the journal, and take out what the last session didn't write; the file writer marks entries done in it. */
+	private Journal openJournal()
+	{
+		try
+		{
+			final Journal opened = new Journal(File.getInstance().getLogsFolder().resolve("journal.wal"));
+			recovered = opened.recover();
+			File.getInstance().setJournal(opened);
+			return opened;
+		}
+		catch (final IOException | OverlappingFileLockException e)
+		{	// carry on without it; e.g. another process, or log, is using it.
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/*
+	 * Post what the last session didn't write, recovered from the journal, ahead of anything new, waiting for room; call
+	 * once the log is initialised, so the sinks take them. Returns how many.
+	 */
+	int postRecovered()
+	{
+		final List<Entry> entries = recovered;
+		recovered = Collections.emptyList();
+
+		for (final Entry entry : entries)
+		{
+			entry.setJournalPosition(journal.append(entry));
+			replay(entry);
+		}
+
+		return entries.size();
+	}
+
+	/**
+	 * Gets the single instance of the writer, starting it if it's the first time.
+	 *
+	 * @return single instance of the writer
+	 */
+	static EntryWriter getInstance()
+	{
+		synchronized (EntryWriter.class)
+		{
+			if (instance == null)
+			{
+				instance = new EntryWriter();
+				instance.initWriter();
+			}
+
+			return instance;
+		}
+	}
+
+	// Singleton!
+	private EntryWriter()
+	{}
+
+}
@@ -1,337 +1,1430 @@
-/*
- * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
- *
- *		The Modified MIT Licence (GPL v3 compatible)
- * 			Licence terms are in a separate file (LICENCE.md)
- *
- *		Project/File: Logger/com.yagasoft.logger/File.java
- *
- *			Modified: 24-Jul-2014 (18:43:59)
- *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
- */
-
-package com.yagasoft.logger;
-
-
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
-import java.util.Locale;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
-
-
-final class File
-{
-	
-	/* set when the log is accessible and ready. */
-	private transient boolean							initialised;
-	
-	private static File									instance;
-	
-	/* where the logs will be stored relative to project path. */
-	private transient final Path						LOGS_FOLDER	= Paths.get(System.getProperty("user.dir") + "/var/logs/");
-	
-	/* current log file path. */
-	private transient Path								textFile;
-	private transient Path								htmlFile;
-	
-	/* stream to log file. */
-	private transient OutputStream						textStream;
-	private transient OutputStream						htmlStream;
-	
-	/* writer to log file. */
-	private transient OutputStreamWriter				textWriter;
-	private transient OutputStreamWriter				htmlWriter;
-	
-	private transient boolean							flush;
-	private transient boolean							finished;
-	
-	private transient final LinkedBlockingQueue<String>	textQueue	= new LinkedBlockingQueue<String>(100);
-	private transient final LinkedBlockingQueue<String>	htmlQueue	= new LinkedBlockingQueue<String>(100);
-	
-	// get elapsed time since last physical write to file.
-	private transient long								lastFlush	= Calendar.getInstance().getTimeInMillis();
-	
-	private void initFile()
-	{
-		if (instance == null)
-		{
-			newLogFile();
-			
-			new Thread(() ->
-			{
-				while (true)
-				{
-					writeToDisk();
-				}
-			}).start();
-		}
-	}
-	
-	/* create a new log file using the current date and time for its name. */
-	private void newLogFile()
-	{
-		try
-		{
-			Files.createDirectories(LOGS_FOLDER);		// make sure the log folder exists
-			textFile = Files.createFile(LOGS_FOLDER.resolve(getFileStamp() + ".log"));
-			textStream = Files.newOutputStream(textFile, StandardOpenOption.APPEND);
-			textWriter = new OutputStreamWriter(textStream);
-			
-			htmlFile = Files.createFile(LOGS_FOLDER.resolve(getFileStamp() + ".html"));
-			htmlStream = Files.newOutputStream(htmlFile, StandardOpenOption.APPEND);
-			htmlWriter = new OutputStreamWriter(htmlStream);
-			htmlWriter.write("<html><body>\n");
-			
-			initialised = true;
-		}
-		catch (final IOException e)
-		{	// oops, don't bother with a log file for this session!
-			e.printStackTrace();
-			initialised = false;
-		}
-	}
-	
-	/**
-	 * create the file-name time stamp from the system's date and time.
-	 *
-	 * @return the file stamp
-	 */
-	public String getFileStamp()
-	{
-		return new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.getDefault()).format(new Date());
-	}
-	
-	private void writeToDisk()
-	{
-		final long currentTime = Calendar.getInstance().getTimeInMillis();		// compare
-		
-		try
-		{
-			// if a file was created and open ...
-			if ((textWriter != null) && (htmlWriter != null) && initialised)
-			{
-				// avoid locking here at the start of the application.
-				if (Log.getInstance().isInitialised())
-				{
-					textWriter.write(textQueue.take().replace("\r", ""));
-				}
-				
-				htmlWriter.write(htmlQueue.take().replace("\r", ""));
-				
-				if (((currentTime - lastFlush) > 5000) || flush)
-				{
-					flushStreams();
-					lastFlush = Calendar.getInstance().getTimeInMillis();		// reset timer
-				}
-			}
-		}
-		catch (IOException | InterruptedException e)
-		{
-			e.printStackTrace();
-			initialised = false;
-		}
-	}
-	
-	/* flush this text to log file. */
-	void queueForWrite(final String text)
-	{
-		try
-		{
-			textQueue.put(text);
-		}
-		catch (final InterruptedException e)
-		{
-			e.printStackTrace();
-		}
-	}
-	
-	/* flush this text to log file. */
-	void writeToHTML(final String text)
-	{
-		try
-		{
-			htmlQueue.put(text);
-		}
-		catch (final InterruptedException e)
-		{
-			e.printStackTrace();
-		}
-	}
-	
-	// write entries to physical file.
-	void flushStreams()
-	{
-		try
-		{
-			textWriter.flush();
-			textStream.flush();
-			
-			htmlWriter.flush();
-			htmlStream.flush();
-		}
-		catch (final IOException e)
-		{
-			e.printStackTrace();
-		}
-	}
-	
-	void shutdown()
-	{
-		flush = true;
-	}
-	
-	// compress the logs and delete them.
-	void finalise()
-	{
-		initialised = false;
-		finished = false;
-		
-		final byte[] buffer = new byte[1024];
-		
-		try
-		{
-			final FileOutputStream outFileStream = new FileOutputStream(textFile.toString().replace(".log", "_log") + ".zip");
-			final ZipOutputStream zipOutStream = new ZipOutputStream(outFileStream);
-			zipOutStream.setMethod(ZipOutputStream.DEFLATED);
-			
-			textWriter.flush();
-			textStream.flush();
-			ZipEntry zipEntry = new ZipEntry(textFile.getFileName().toString());
-			zipOutStream.putNextEntry(zipEntry);
-			FileInputStream inFileStream = new FileInputStream(textFile.toString());
-			
-			int len = inFileStream.read(buffer);
-			
-			while (len > 0)
-			{
-				zipOutStream.write(buffer, 0, len);
-				len = inFileStream.read(buffer);
-			}
-			
-			inFileStream.close();
-			
-			htmlWriter.write("\n</html></body>");
-			htmlWriter.flush();
-			htmlStream.flush();
-			zipEntry = new ZipEntry(htmlFile.getFileName().toString());
-			zipOutStream.putNextEntry(zipEntry);
-			inFileStream = new FileInputStream(htmlFile.toString());
-			
-			len = inFileStream.read(buffer);
-			
-			while (len > 0)
-			{
-				zipOutStream.write(buffer, 0, len);
-				len = inFileStream.read(buffer);
-			}
-			
-			inFileStream.close();
-			zipOutStream.closeEntry();
-			zipOutStream.close();
-			
-			textWriter.close();
-			textStream.close();
-			Files.deleteIfExists(textFile);
-			
-			htmlWriter.close();
-			htmlStream.close();
-			Files.deleteIfExists(htmlFile);
-		}
-		catch (final IOException ex)
-		{
-			ex.printStackTrace();
-		}
-		
-		finished = true;
-	}
-	
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Getters and setters.
-	//======================================================================================
-	
-	/**
-	 * @return the htmlFile
-	 */
-	public Path getHtmlFile()
-	{
-		return htmlFile;
-	}
-	
-	/**
-	 * @param htmlFile
-	 *            the htmlFile to set
-	 */
-	public void setHtmlFile(final Path htmlFile)
-	{
-		this.htmlFile = htmlFile;
-	}
-	
-	/**
-	 * @return the textFile
-	 */
-	public Path getTextFile()
-	{
-		return textFile;
-	}
-	
-	/**
-	 * @param textFile
-	 *            the textFile to set
-	 */
-	public void setTextFile(final Path textFile)
-	{
-		this.textFile = textFile;
-	}
-	
-	/**
-	 * @return the finished
-	 */
-	public boolean isFinished()
-	{
-		return finished;
-	}
-	
-	/**
-	 * @param finished
-	 *            the finished to set
-	 */
-	public void setFinished(final boolean finished)
-	{
-		this.finished = finished;
-	}
-	
-	//======================================================================================
-	// #endregion Getters and setters.
-	////////////////////////////////////////////////////////////////////////////////////////
-	
-	static File getInstance()
-	{
-		synchronized (File.class)
-		{
-			if (instance == null)
-			{
-				instance = new File();
-			}
-			
-			return instance;
-		}
-	}
-	
-	// Singleton!
-	private File()
-	{
-		initFile();
-	}
-}
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/File.java
+ *
+ *			Modified: 24-Jul-2014 (18:43:59)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+import com.yagasoft.logger.Log.DurabilityPolicy;
+import com.yagasoft.logger.Log.ExportRange;
+import com.yagasoft.logger.Log.RollTime;
+import com.yagasoft.logger.Log.TimePrecision;
+
+
+final class File
+{
+	
+	/* set when the log is accessible and ready. */
+	private transient boolean							initialised;
+	
+	private static File									instance;
+	
+	/* where the logs will be stored relative to project path. */
+	private transient final Path						LOGS_FOLDER	= Paths.get(System.getProperty("user.dir") + "/var/logs/");
+	
+	/* current log file path. */
+	private transient Path								textFile;
+	private transient Path								htmlFile;
+	
+	/* binary log file, if chosen; null otherwise. See BinaryLog. */
+	private transient Path								binaryFile;
+	
+	/* appends to log file. */
+	private transient IAppender							textAppender;
+	private transient IAppender							htmlAppender;
+	private transient IAppender							binaryAppender;
+	
+	private transient boolean							finished;
+	
+	/* text of an entry, or part of the file, and when the entry was posted (micros); see Clock. */
+	private static final class Line
+	{
+		
+		private final String	text;
+		private final long		time;
+		private final long		journal;
+		
+		private Line(final String text, final long time)
+		{
+			this(text, time, Journal.NOT_JOURNALED);
+		}
+		
+		private Line(final String text, final long time, final long journal)
+		{
+			this.text = text;
+			this.time = time;
+			this.journal = journal;
+		}
+	}
+	
+	/* time of a line that isn't an entry (e.g. the HTML head), so it's not indexed. */
+	private final static long							NOT_ENTRY	= Long.MIN_VALUE;
+	
+	private transient final LinkedBlockingQueue<Line>	textQueue	= new LinkedBlockingQueue<Line>(100);
+	private transient final LinkedBlockingQueue<Line>	htmlQueue	= new LinkedBlockingQueue<Line>(100);
+	
+	private transient final LinkedBlockingQueue<BinaryLog.Record>	binaryQueue	= new LinkedBlockingQueue<BinaryLog.Record>(100);
+	
+	/* where each entry of the current log files starts, and when it was posted. */
+	private transient final EntryIndex					textIndex	= new EntryIndex();
+	private transient final EntryIndex					htmlIndex	= new EntryIndex();
+	
+	/* how long to wait (millis) for something to write, before checking the queues again. */
+	private final static long							WAIT		= 100;
+	
+	/* everything taken from the queues in one cycle, written in one go. */
+	private transient final List<Line>					textBatch	= new ArrayList<Line>(100);
+	private transient final List<Line>					htmlBatch	= new ArrayList<Line>(100);
+	private transient final List<BinaryLog.Record>		binaryBatch	= new ArrayList<BinaryLog.Record>(100);
+	
+	/* encodes each binary batch into a block. */
+	private transient final BinaryLog					binaryLog	= new BinaryLog();
+	
+	/* batches are encoded into this buffer, which is written to the file when full, and at the end of a batch. */
+	private transient final ByteBuffer					buffer		= ByteBuffer.allocateDirect(64 * 1024);
+	private transient final CharsetEncoder				encoder		= StandardCharsets.UTF_8.newEncoder()
+																		.onMalformedInput(CodingErrorAction.REPLACE)
+																		.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	
+	/* writes the queues to the files, and whether it's waiting for something to write. */
+	private transient Thread							writer;
+	private transient volatile boolean					writerWaiting;
+	
+	/* held while writing to, or closing, the files. */
+	private transient final Object						writeLock	= new Object();
+	
+	/* something was written since the files were last forced to the disk. */
+	private transient boolean							unforced;
+	
+	/* an urgent entry was queued; the files are forced after it's written. */
+	private transient volatile boolean					forceRequested;
+	
+	/*
+	 * entries written are marked done in it, if any; those the compressor still holds only once they're in the file,
+	 * so these wait along with the size of the text file they need to be readable.
+	 */
+	private transient volatile Journal					journal;
+	private transient long[]							heldJournal		= new long[64];
+	private transient long[]							heldJournalEnds	= new long[64];
+	private transient int								heldJournalCount;
+	
+	/* when the current log files were started, and the entries written to them; for rolling. */
+	private transient long								segmentStart;
+	private transient long								segmentEntries;
+	
+	/* head of the HTML log, with the CSS of all styles; written at the start of each HTML file. */
+	private transient String							htmlHead;
+	
+	/* exports the log files, one at a time, without holding up writing. */
+	private transient final ExecutorService				exporter	= Executors.newSingleThreadExecutor(runnable ->
+																	{
+																		final Thread thread = new Thread(runnable);
+																		thread.setDaemon(true);
+																		return thread;
+																	});
+	
+	/* how much to copy (bytes) between progress reports while exporting. */
+	private final static long							EXPORT_STEP	= 8 * 1024 * 1024;
+	
+	/* the same, in entries, when forming HTML from the binary log; and how much of that to buffer before writing. */
+	private final static int							EXPORT_REPORT_ENTRIES	= 10000;
+	private final static int							EXPORT_BUFFER			= 64 * 1024;
+	
+	/* compresses log files rolled over, in the background, without holding up writing. */
+	private transient final ExecutorService				compressor	= Executors.newSingleThreadExecutor(runnable ->
+																	{
+																		final Thread thread = new Thread(runnable);
+																		thread.setPriority(Thread.MIN_PRIORITY);
+																		thread.setDaemon(true);
+																		return thread;
+																	});
+	
+	private void initFile()
+	{
+		if (instance == null)
+		{
+			newLogFile();
+			
+			writer = new Thread(() ->
+			{
+				while (true)
+				{
+					writeToDisk();
+				}
+			});
+			writer.start();
+			
+			// forces the files to the disk periodically, independently of entries coming in.
+			new Thread(() ->
+			{
+				while (true)
+				{
+					forcePeriodically();
+				}
+			}).start();
+		}
+	}
+	
+	/* create a new log file using the current date and time for its name. */
+	private void newLogFile()
+	{
+		try
+		{
+			Files.createDirectories(LOGS_FOLDER);		// make sure the log folder exists
+			final String stamp = getSegmentStamp();
+			final boolean compressed = Log.getInstance().isCompressedWriting();
+			
+			textFile = Files.createFile(LOGS_FOLDER.resolve(stamp + (compressed ? ".log.gz" : ".log")));
+			textAppender = newAppender(textFile, compressed);
+			
+			// formed from the binary log on demand otherwise.
+			if (Log.getInstance().isHtmlWriting())
+			{
+				htmlFile = Files.createFile(LOGS_FOLDER.resolve(stamp + (compressed ? ".html.gz" : ".html")));
+				htmlAppender = newAppender(htmlFile, compressed);
+			}
+			
+			if (Log.getInstance().isBinaryWriting())
+			{
+				binaryFile = Files.createFile(LOGS_FOLDER.resolve(stamp + (compressed ? ".bin.gz" : ".bin")));
+				binaryAppender = newAppender(binaryFile, compressed);
+				binaryAppender.append(BinaryLog.fileHead());
+			}
+			
+			textIndex.clear();
+			textIndex.setWriter(new LogIndex.Writer(LogIndex.getIndexFile(textFile)));
+			htmlIndex.clear();
+			
+			htmlBatch.add(new Line("<html><body>\n", NOT_ENTRY));
+			
+			if (htmlHead != null)
+			{
+				htmlBatch.add(new Line(htmlHead, NOT_ENTRY));
+			}
+			
+			write(htmlAppender, htmlBatch, htmlIndex);
+			
+			segmentStart = System.currentTimeMillis();
+			segmentEntries = 0;
+			initialised = true;
+		}
+		catch (final IOException e)
+		{	// oops, don't bother with a log file for this session!
+			e.printStackTrace();
+			initialised = false;
+		}
+	}
+	
+	/* compress the file while writing, or memory map it, if chosen, else write to it normally. */
+	private IAppender newAppender(final Path file, final boolean compressed) throws IOException
+	{
+		if (compressed)
+		{
+			return new CompressingAppender(file, Log.getInstance().getCompressionLevel());
+		}
+		
+		return Log.getInstance().isMemoryMapped() ? new MappedAppender(file) : new ChannelAppender(file);
+	}
+	
+	/* the file stamp, numbered if log files with it exist already (rolled over within the same second). */
+	private String getSegmentStamp()
+	{
+		final String stamp = getFileStamp();
+		String segmentStamp = stamp;
+		
+		for (int number = 2; Files.exists(LOGS_FOLDER.resolve(segmentStamp + ".log"))
+				|| Files.exists(LOGS_FOLDER.resolve(segmentStamp + ".log.gz"))
+				|| Files.exists(LOGS_FOLDER.resolve(segmentStamp + "_log.zip")); number++)
+		{
+			segmentStamp = stamp + "_" + number;
+		}
+		
+		return segmentStamp;
+	}
+	
+	/**
+	 * create the file-name time stamp from the system's date and time.
+	 *
+	 * @return the file stamp
+	 */
+	public String getFileStamp()
+	{
+		return new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.getDefault()).format(new Date());
+	}
+	
+	private void writeToDisk()
+	{
+		try
+		{
+			// if a file was created and open ...
+			if ( !initialised)
+			{
+				Thread.sleep(WAIT);
+				return;
+			}
+			
+			// wait for something to write, then take everything there is.
+			if (textQueue.isEmpty() && htmlQueue.isEmpty() && binaryQueue.isEmpty() && !forceRequested)
+			{
+				writerWaiting = true;
+				
+				// re-check after announcing, so something queued in between is not missed.
+				if (textQueue.isEmpty() && htmlQueue.isEmpty() && binaryQueue.isEmpty() && !forceRequested)
+				{
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(WAIT));
+				}
+				
+				writerWaiting = false;
+			}
+			
+			// the request is taken before writing, so that the urgent entry is included.
+			final boolean urgent = forceRequested;
+			forceRequested = false;
+			
+			synchronized (writeLock)
+			{
+				writeQueued();
+				
+				final DurabilityPolicy policy = Log.getInstance().getDurabilityPolicy();
+				
+				if ((policy == DurabilityPolicy.EVERY_BATCH) || (urgent && (policy == DurabilityPolicy.ERRORS)))
+				{
+					force();
+				}
+				
+				rollOverIfDue();
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	private void forcePeriodically()
+	{
+		try
+		{
+			Thread.sleep(Log.getInstance().getFlushInterval());
+			
+			final DurabilityPolicy policy = Log.getInstance().getDurabilityPolicy();
+			
+			if ((policy == DurabilityPolicy.PERIODIC) || (policy == DurabilityPolicy.ERRORS))
+			{
+				synchronized (writeLock)
+				{
+					writeQueued();
+					force();
+				}
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/* force the files to the disk, if anything was written since last time; call while holding the write lock. */
+	private void force()
+	{
+		if ( !initialised || !unforced)
+		{
+			return;
+		}
+		
+		try
+		{
+			textAppender.force();
+			
+			if (htmlAppender != null)
+			{
+				htmlAppender.force();
+			}
+			
+			if (binaryAppender != null)
+			{
+				binaryAppender.force();
+			}
+			
+			unforced = false;
+			Log.getInstance().getMetrics().countForce();
+			
+			if (journal != null)
+			{
+				markReadable(textAppender);
+			}
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/* wake the writer up if it's waiting for something to write. */
+	private void wakeWriter()
+	{
+		if (writerWaiting)
+		{
+			LockSupport.unpark(writer);
+		}
+	}
+	
+	/* write everything in the queues, each file in one go; call while holding the write lock. */
+	private void writeQueued()
+	{
+		if ( !initialised)
+		{
+			return;
+		}
+		
+		try
+		{
+			textQueue.drainTo(textBatch);
+			segmentEntries += textBatch.size();
+			write(textAppender, textBatch, textIndex);
+			
+			htmlQueue.drainTo(htmlBatch);
+			write(htmlAppender, htmlBatch, htmlIndex);
+			
+			binaryQueue.drainTo(binaryBatch);
+			writeBinary();
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+			initialised = false;
+		}
+	}
+	
+	/* encode the batch, without the '\r's, and write it to the file (if any), indexing the entries; the batch is emptied. */
+	private void write(final IAppender appender, final List<Line> batch, final EntryIndex index) throws IOException
+	{
+		if (appender == null)
+		{
+			batch.clear();
+			return;
+		}
+		
+		unforced |= !batch.isEmpty();
+		
+		for (final Line line : batch)
+		{
+			final String text = line.text;
+			int start = 0;
+			
+			// the buffer only holds what's not written to this file yet.
+			if (line.time != NOT_ENTRY)
+			{
+				index.add(appender.size() + buffer.position(), line.time);
+			}
+			
+			for (int end = text.indexOf('\r'); end >= 0; end = text.indexOf('\r', start))
+			{
+				encode(appender, text, start, end);
+				start = end + 1;
+			}
+			
+			encode(appender, text, start, text.length());
+		}
+		
+		drain(appender);
+		
+		if ((journal != null) && (appender == textAppender))
+		{
+			markWritten(appender, batch);
+		}
+		
+		batch.clear();
+	}
+	
+	/* mark the entries of the batch done in the journal once they're in the file (with the OS); the batch ends at its size. */
+	private void markWritten(final IAppender appender, final List<Line> batch)
+	{
+		final long end = appender.size();
+		
+		for (final Line line : batch)
+		{
+			if (line.journal == Journal.NOT_JOURNALED)
+			{
+				continue;
+			}
+			
+			if (heldJournalCount == heldJournal.length)
+			{
+				heldJournal = Arrays.copyOf(heldJournal, heldJournalCount * 2);
+				heldJournalEnds = Arrays.copyOf(heldJournalEnds, heldJournalCount * 2);
+			}
+			
+			heldJournal[heldJournalCount] = line.journal;
+			heldJournalEnds[heldJournalCount++] = end;
+		}
+		
+		markReadable(appender);
+	}
+	
+	/* mark the entries held done in the journal, in order, up to what the file holds already. */
+	private void markReadable(final IAppender appender)
+	{
+		final long readable = appender.readableSize();
+		int marked = 0;
+		
+		while ((marked < heldJournalCount) && (heldJournalEnds[marked] <= readable))
+		{
+			journal.done(heldJournal[marked++]);
+		}
+		
+		heldJournalCount -= marked;
+		System.arraycopy(heldJournal, marked, heldJournal, 0, heldJournalCount);
+		System.arraycopy(heldJournalEnds, marked, heldJournalEnds, 0, heldJournalCount);
+	}
+	
+	/* write the binary batch to its file as one block; the batch is emptied. */
+	private void writeBinary() throws IOException
+	{
+		if ((binaryAppender == null) || binaryBatch.isEmpty())
+		{
+			binaryBatch.clear();
+			return;
+		}
+		
+		unforced = true;
+		binaryAppender.append(binaryLog.encodeBlock(binaryBatch));
+		binaryBatch.clear();
+	}
+	
+	/* encode the span of the text to the buffer, writing the buffer to the file whenever it fills up. */
+	private void encode(final IAppender appender, final String text, final int start, final int end) throws IOException
+	{
+		if (start >= end)
+		{
+			return;
+		}
+		
+		final CharBuffer chars = CharBuffer.wrap(text, start, end);
+		encoder.reset();
+		
+		while (encoder.encode(chars, buffer, true).isOverflow())
+		{
+			drain(appender);
+		}
+		
+		while (encoder.flush(buffer).isOverflow())
+		{
+			drain(appender);
+		}
+	}
+	
+	/* write what's in the buffer to the file. */
+	private void drain(final IAppender appender) throws IOException
+	{
+		buffer.flip();
+		appender.append(buffer);
+		buffer.clear();
+	}
+	
+	/**
+	 * Queue this text for the log file.
+	 *
+	 * @param text
+	 *            Text of the entry.
+	 * @param time
+	 *            When the entry was posted, in microseconds since the epoch.
+	 * @param urgent
+	 *            Is it an error, or exception, to be forced to the disk as soon as it's written; see
+	 *            {@link DurabilityPolicy#ERRORS}.
+	 * @param journalPosition
+	 *            Where the entry is in the journal, to mark it done once written; see {@link Journal}.
+	 */
+	void queueForWrite(final String text, final long time, final boolean urgent, final long journalPosition)
+	{
+		try
+		{
+			textQueue.put(new Line(text, time, journalPosition));
+			
+			if (urgent)
+			{
+				forceRequested = true;
+			}
+			
+			wakeWriter();
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/* start new log files if the current ones are full, or it's time; call while holding the write lock. */
+	private void rollOverIfDue()
+	{
+		if ( !initialised)
+		{
+			return;
+		}
+		
+		final Logger logger = Log.getInstance();
+		final long rollSize = logger.getRollSize();
+		final long rollEntries = logger.getRollEntries();
+		
+		final boolean due = ((rollSize > 0) && ((textAppender.size() >= rollSize)
+				|| ((htmlAppender != null) && (htmlAppender.size() >= rollSize))))
+				|| ((rollEntries > 0) && (segmentEntries >= rollEntries))
+				|| (System.currentTimeMillis() >= getRollTime(logger.getRollTime()));
+		
+		if ( !due)
+		{
+			return;
+		}
+		
+		try
+		{
+			closeLogFile();
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+			initialised = false;
+			return;
+		}
+		
+		// compressed already if compressed while writing.
+		if ( !textAppender.isCompressed())
+		{
+			final Path oldTextFile = textFile;
+			final Path oldHtmlFile = htmlFile;
+			final Path oldBinaryFile = binaryFile;
+			compressor.execute(() -> compress(oldTextFile, oldHtmlFile, oldBinaryFile));
+		}
+		
+		newLogFile();
+	}
+	
+	/* when the current log files are due to be rolled over by time. */
+	private long getRollTime(final RollTime rollTime)
+	{
+		if (rollTime == RollTime.NEVER)
+		{
+			return Long.MAX_VALUE;
+		}
+		
+		final Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(segmentStart);
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+		
+		if (rollTime == RollTime.DAILY)
+		{
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+		}
+		else
+		{
+			calendar.add(Calendar.HOUR_OF_DAY, 1);
+		}
+		
+		return calendar.getTimeInMillis();
+	}
+	
+	/*
+	 * end the HTML, and close the current log files, forcing them to the disk whatever the policy; call while holding the
+	 * write lock.
+	 */
+	private void closeLogFile() throws IOException
+	{
+		htmlBatch.add(new Line("\n</html></body>", NOT_ENTRY));
+		write(htmlAppender, htmlBatch, htmlIndex);
+		force();
+		
+		textAppender.close();
+		textIndex.closeWriter();
+		
+		if (htmlAppender != null)
+		{
+			htmlAppender.close();
+		}
+		
+		if (binaryAppender != null)
+		{
+			binaryAppender.close();
+		}
+	}
+	
+	/**
+	 * Sets the head of the HTML log, which is written at the start of each HTML file, including the current one.
+	 *
+	 * @param head
+	 *            Head.
+	 */
+	void setHtmlHead(final String head)
+	{
+		synchronized (writeLock)
+		{
+			htmlHead = head;
+			writeQueued();
+			
+			if ( !initialised)
+			{
+				return;
+			}
+			
+			try
+			{
+				htmlBatch.add(new Line(head, NOT_ENTRY));
+				write(htmlAppender, htmlBatch, htmlIndex);
+			}
+			catch (final IOException e)
+			{
+				e.printStackTrace();
+				initialised = false;
+			}
+		}
+	}
+	
+	/**
+	 * Queue the HTML of an entry for the HTML log file.
+	 *
+	 * @param text
+	 *            HTML of the entry.
+	 * @param time
+	 *            When the entry was posted, in microseconds since the epoch.
+	 */
+	void writeToHTML(final String text, final long time)
+	{
+		try
+		{
+			htmlQueue.put(new Line(text, time));
+			wakeWriter();
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Queue the record of an entry for the binary log file, if chosen; see {@link Log#setBinaryWriting(boolean)}.
+	 *
+	 * @param record
+	 *            Record of the entry.
+	 */
+	void writeToBinary(final BinaryLog.Record record)
+	{
+		try
+		{
+			binaryQueue.put(record);
+			wakeWriter();
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+	}
+	
+	// write queued entries to physical file.
+	void flushStreams()
+	{
+		synchronized (writeLock)
+		{
+			writeQueued();
+		}
+	}
+	
+	/**
+	 * Exports a range of the entries in the text log file so far, on the exporting thread.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Range of entries.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done
+	 */
+	Future<Path> exportText(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return exporter.submit(() -> export(false, target, range, listener));
+	}
+	
+	/**
+	 * Exports a range of the entries in the HTML log file so far, with the styles, on the exporting thread.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Range of entries.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done
+	 */
+	Future<Path> exportHtml(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return exporter.submit(() -> export(true, target, range, listener));
+	}
+	
+	/* report a failure here as well, as nobody might be waiting for the result (e.g. saving from the menu). */
+	private Path export(final boolean html, final Path target, final ExportRange range, final IExportListener listener)
+			throws IOException
+	{
+		try
+		{
+			// no HTML log file; see Log.setHtmlWriting().
+			return (html && (htmlFile == null)) ? formHtml(target, range, listener) : copyRange(html, target, range, listener);
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+			throw e;
+		}
+	}
+	
+	/*
+	 * Copy the part of the file holding the range, after the HTML head if it's HTML. Only copying the points of the
+	 * index holds the writer up; reading on from them to the range, and copying it, doesn't, as the file is only
+	 * appended to. A mapped file is longer than what's written while open, so only that is copied, and a compressed one
+	 * is decompressed.
+	 */
+	private Path copyRange(final boolean html, final Path target, final ExportRange range, final IExportListener listener)
+			throws IOException
+	{
+		final Path file;
+		final Path text;
+		final boolean compressed;
+		final long size;
+		final long textSize;
+		final EntryIndex points;
+		final EntryIndex textPoints;
+		
+		synchronized (writeLock)
+		{
+			writeQueued();
+			
+			file = html ? htmlFile : textFile;
+			text = textFile;
+			
+			if (file == null)
+			{
+				throw new IOException("No log file to export.");
+			}
+			
+			final IAppender appender = html ? htmlAppender : textAppender;
+			
+			// closed already, so up to the end of the file.
+			size = initialised ? appender.size() : Long.MAX_VALUE;
+			textSize = initialised ? textAppender.size() : Long.MAX_VALUE;
+			compressed = initialised ? appender.isCompressed() : file.toString().endsWith(".gz");
+			
+			// make everything compressed readable.
+			if (initialised && compressed)
+			{
+				textAppender.force();
+				appender.force();
+			}
+			
+			points = (html ? htmlIndex : textIndex).copy();
+			textPoints = textIndex.copy();
+		}
+		
+		final boolean byTime = range.isByTime();
+		
+		// the times read are only as precise as the stamps, so the period is widened to whole stamps.
+		final TimePrecision precision = Log.getTimePrecision();
+		final long unit = (precision == TimePrecision.SECONDS)
+				? 1000000 : ((precision == TimePrecision.MILLISECONDS) ? 1000 : 1);
+		final long from = byTime ? (Math.floorDiv(range.getFrom() * 1000, unit) * unit) : range.getFrom();
+		final long to = byTime ? ((Math.floorDiv((range.getTo() * 1000) - 1, unit) * unit) + unit) : range.getTo();
+		final long start;
+		final long end;
+		
+		if ( !html)
+		{
+			start = seekText(file, compressed, points, size, byTime, from)[0];
+			end = seekText(file, compressed, points, size, byTime, to)[0];
+		}
+		else if (byTime)
+		{	// the HTML has no times to read, so the period is found in the text log, which has the same entries.
+			start = seekHtml(file, compressed, points, size, seekText(text, compressed, textPoints, textSize, true, from)[1]);
+			end = seekHtml(file, compressed, points, size, seekText(text, compressed, textPoints, textSize, true, to)[1]);
+		}
+		else
+		{
+			start = seekHtml(file, compressed, points, size, from);
+			end = seekHtml(file, compressed, points, size, to);
+		}
+		
+		final long head = html ? Math.min((points.getPointCount() > 0) ? points.getOffset(0) : size, start) : 0;
+		final long[][] spans = new long[][] { { 0, head }, { start, Math.max(start, end) } };
+		
+		try (FileChannel destination = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+		{
+			if (compressed)
+			{
+				decompress(file, spans, destination, listener);
+			}
+			else
+			{
+				transfer(file, spans, destination, listener);
+			}
+			
+			if (html)
+			{
+				destination.write(ByteBuffer.wrap("</html></body>".getBytes(StandardCharsets.UTF_8)));
+			}
+		}
+		
+		return target;
+	}
+	
+	/*
+	 * Find where the first entry at, or after, the target (an entry number, or a time in microseconds) starts in the text
+	 * log: read on from the point before it, taking the lines starting with a time stamp as entries, as LogIndex does.
+	 * Returns the offset, and the number, of the entry; or the end of the file, and the number of entries, if there's
+	 * none.
+	 */
+	private long[] seekText(final Path file, final boolean compressed, final EntryIndex points, final long size
+			, final boolean byTime, final long target) throws IOException
+	{
+		final int point = byTime ? points.seekTime(target) : points.seekEntry(target);
+		
+		if ((point < 0) || ( !byTime && (target >= points.size())))
+		{
+			return new long[] { size, points.size() };
+		}
+		
+		long entry = points.getEntry(point);
+		long offset = points.getOffset(point);
+		
+		if ( !byTime && (entry == target))
+		{
+			return new long[] { offset, entry };
+		}
+		
+		final TimeStampFormatter formatter = new TimeStampFormatter(Log.getInstance());
+		final byte[] head = new byte[64];
+		int headLength = 0;
+		long lineStart = offset;
+		
+		try (InputStream input = openAt(file, compressed, offset))
+		{
+			for (int value = input.read(); (value >= 0) && (offset < size); value = input.read())
+			{
+				offset++;
+				
+				if (value != '\n')
+				{
+					if (headLength < head.length)
+					{
+						head[headLength++] = (byte) value;
+					}
+					
+					continue;
+				}
+				
+				final long time = formatter.parse(new String(head, 0, headLength, StandardCharsets.UTF_8));
+				
+				if (time != TimeStampFormatter.NOT_TIME_STAMP)
+				{
+					if (byTime ? (time >= target) : (entry >= target))
+					{
+						return new long[] { lineStart, entry };
+					}
+					
+					entry++;
+				}
+				
+				headLength = 0;
+				lineStart = offset;
+			}
+		}
+		catch (final EOFException e)
+		{	// the file is still being written, so it ends at the last sync point.
+		}
+		
+		return new long[] { size, entry };
+	}
+	
+	/* find where the entry with this number starts in the HTML log, an entry to a line; or the end if there's none. */
+	private long seekHtml(final Path file, final boolean compressed, final EntryIndex points, final long size
+			, final long target) throws IOException
+	{
+		final int point = points.seekEntry(target);
+		
+		if ((point < 0) || (target >= points.size()))
+		{
+			return size;
+		}
+		
+		long entry = points.getEntry(point);
+		long offset = points.getOffset(point);
+		
+		try (InputStream input = openAt(file, compressed, offset))
+		{
+			for (int value = (entry < target) ? input.read() : -1; (value >= 0) && (offset < size); value = input.read())
+			{
+				offset++;
+				
+				if ((value == '\n') && (++entry == target))
+				{
+					break;
+				}
+			}
+		}
+		catch (final EOFException e)
+		{	// the file is still being written, so it ends at the last sync point.
+		}
+		
+		return (entry < target) ? size : offset;
+	}
+	
+	/* open the file to read on from the offset; a compressed one is decompressed up to it. */
+	private InputStream openAt(final Path file, final boolean compressed, final long offset) throws IOException
+	{
+		if ( !compressed)
+		{
+			final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+			channel.position(offset);
+			return new BufferedInputStream(Channels.newInputStream(channel), EXPORT_BUFFER);
+		}
+		
+		final InputStream input = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file)
+				, CompressingAppender.SYNC_INTERVAL), EXPORT_BUFFER);
+		
+		try
+		{
+			for (long skipped = 0; skipped < offset; )
+			{
+				final long count = input.skip(offset - skipped);
+				
+				if (count <= 0)
+				{
+					throw new EOFException();
+				}
+				
+				skipped += count;
+			}
+		}
+		catch (final IOException e)
+		{
+			input.close();
+			throw e;
+		}
+		
+		return input;
+	}
+	
+	/*
+	 * Form the HTML of the range from the binary log, reading it an entry at a time. Only writing what's queued holds the
+	 * writer up; the file is read as it's being written, up to the last block written.
+	 */
+	private Path formHtml(final Path target, final ExportRange range, final IExportListener listener) throws IOException
+	{
+		final Path file;
+		
+		synchronized (writeLock)
+		{
+			writeQueued();
+			file = binaryFile;
+			
+			if (file == null)
+			{
+				throw new IOException("No log file to export.");
+			}
+			
+			// make everything compressed readable.
+			if (initialised && binaryAppender.isCompressed())
+			{
+				binaryAppender.force();
+			}
+		}
+		
+		final long from = range.isByTime() ? (range.getFrom() * 1000) : range.getFrom();
+		final long to = range.isByTime() ? (range.getTo() * 1000) : range.getTo();
+		long done = 0;
+		
+		try (BinaryLogReader reader = new BinaryLogReader(file)
+				; OutputStream destination = new BufferedOutputStream(Files.newOutputStream(target
+						, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), EXPORT_BUFFER))
+		{
+			done += writeHtml(destination, "<html><body>\n" + ((htmlHead == null) ? "" : htmlHead));
+			
+			// entries are in about the order they're posted, as in the index.
+			for (long entry = 0; reader.next(); entry++)
+			{
+				final long position = range.isByTime() ? reader.getTime() : entry;
+				
+				if (position >= to)
+				{
+					break;
+				}
+				
+				if (position < from)
+				{
+					continue;
+				}
+				
+				done += writeHtml(destination, reader.getHTML() + '\n');
+				
+				if ((listener != null) && ((entry % EXPORT_REPORT_ENTRIES) == 0))
+				{
+					listener.progressed(done, -1);
+				}
+			}
+			
+			done += writeHtml(destination, "</html></body>");
+		}
+		
+		if (listener != null)
+		{
+			listener.progressed(done, done);
+		}
+		
+		return target;
+	}
+	
+	/* write the HTML, without the '\r's, as the log files are; returns the bytes written. */
+	private int writeHtml(final OutputStream destination, final String html) throws IOException
+	{
+		final byte[] bytes = html.replace("\r", "").getBytes(StandardCharsets.UTF_8);
+		destination.write(bytes);
+		return bytes.length;
+	}
+	
+	/* copy the spans of the file, in order, straight from the file system cache. */
+	private void transfer(final Path file, final long[][] spans, final FileChannel destination
+			, final IExportListener listener) throws IOException
+	{
+		try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			final long size = source.size();
+			long total = 0;
+			long done = 0;
+			
+			for (final long[] span : spans)
+			{
+				span[1] = Math.min(span[1], size);
+				total += Math.max(span[1] - span[0], 0);
+			}
+			
+			for (final long[] span : spans)
+			{
+				for (long position = span[0]; position < span[1]; )
+				{
+					final long count = source.transferTo(position, Math.min(span[1] - position, EXPORT_STEP), destination);
+					position += count;
+					done += count;
+					
+					if (listener != null)
+					{
+						listener.progressed(done, total);
+					}
+				}
+			}
+			
+			if (listener != null)
+			{
+				listener.progressed(total, total);
+			}
+		}
+	}
+	
+	/* decompress the spans of the file, in order; it ends at the last sync point if it's still being written. */
+	private void decompress(final Path file, final long[][] spans, final FileChannel destination
+			, final IExportListener listener) throws IOException
+	{
+		try (InputStream in = new GZIPInputStream(Files.newInputStream(file), CompressingAppender.SYNC_INTERVAL))
+		{
+			final byte[] bytes = new byte[CompressingAppender.SYNC_INTERVAL];
+			final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			long total = 0;
+			long done = 0;
+			long position = 0;
+			
+			for (final long[] span : spans)
+			{
+				total += Math.max(span[1] - span[0], 0);
+			}
+			
+			try
+			{
+				for (final long[] span : spans)
+				{
+					while (position < span[1])
+					{
+						final int count = in.read(bytes, 0, (int) Math.min(span[1] - position, bytes.length));
+						
+						if (count < 0)
+						{
+							break;
+						}
+						
+						// before the span; skip it.
+						final int skip = (int) Math.max(Math.min(span[0] - position, count), 0);
+						position += count;
+						
+						buffer.limit(count).position(skip);
+						
+						while (buffer.hasRemaining())
+						{
+							done += destination.write(buffer);
+						}
+						
+						if ((listener != null) && (count > skip))
+						{
+							listener.progressed(done, total);
+						}
+					}
+				}
+			}
+			catch (final EOFException e)
+			{	// the file is still being written, so it ends at the last sync point.
+			}
+			
+			if (listener != null)
+			{
+				listener.progressed(done, done);
+			}
+		}
+	}
+	
+	/*
+	 * Writes what's queued, closes the log files, forcing them to the disk, and compresses them, along with any rolled
+	 * over before; waits for the compression until the deadline (System.nanoTime()) at most.
+	 * Returns whether all that finished; the originals are only deleted after their archive is complete.
+	 */
+	boolean finalise(final long deadline)
+	{
+		finished = false;
+		
+		try
+		{
+			// write what's left, and close the files, so nothing is written to them after this.
+			synchronized (writeLock)
+			{
+				try
+				{
+					if (initialised)
+					{
+						writeQueued();
+						closeLogFile();
+						
+						if ( !textAppender.isCompressed())
+						{
+							final Path oldTextFile = textFile;
+							final Path oldHtmlFile = htmlFile;
+							final Path oldBinaryFile = binaryFile;
+							compressor.execute(() -> compress(oldTextFile, oldHtmlFile, oldBinaryFile));
+						}
+					}
+				}
+				finally
+				{
+					initialised = false;
+				}
+			}
+			
+			// wait for the ones rolled over before as well.
+			compressor.shutdown();
+			finished = compressor.awaitTermination(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+		}
+		catch (final IOException | InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+		
+		return finished;
+	}
+	
+	/*
+	 * zip the text, HTML (if any), and binary (if any) log files together, with the index of the text (if any), and
+	 * delete them.
+	 */
+	private void compress(final Path textFile, final Path htmlFile, final Path binaryFile)
+	{
+		try
+		{
+			final Path archive = Paths.get(textFile.toString().replace(".log", "_log") + ".zip");
+			final int level = Log.getInstance().getCompressionLevel();
+			final Path indexFile = LogIndex.getIndexFile(textFile);
+			final List<Path> files = new ArrayList<Path>(Arrays.asList(textFile));
+			
+			if (htmlFile != null)
+			{
+				files.add(htmlFile);
+			}
+			
+			if (binaryFile != null)
+			{
+				files.add(binaryFile);
+			}
+			
+			if (Files.exists(indexFile))
+			{
+				files.add(indexFile);
+			}
+			
+			Archiver.zip(archive, level, files.toArray(new Path[files.size()]));
+			
+			for (final Path file : files)
+			{
+				Files.deleteIfExists(file);
+			}
+		}
+		catch (final IOException ex)
+		{
+			ex.printStackTrace();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters and setters.
+	//======================================================================================
+	
+	/**
+	 * Sets the journal to mark entries done in once written; see {@link Log#setJournaling(boolean)}.
+	 *
+	 * @param journal
+	 *            Journal.
+	 */
+	void setJournal(final Journal journal)
+	{
+		this.journal = journal;
+	}
+	
+	/**
+	 * @return the folder holding the log files
+	 */
+	Path getLogsFolder()
+	{
+		return LOGS_FOLDER;
+	}
+	
+	/**
+	 * @return the head of the HTML log
+	 */
+	String getHtmlHead()
+	{
+		return htmlHead;
+	}
+	
+	/**
+	 * @return the binaryFile; null if not chosen
+	 */
+	public Path getBinaryFile()
+	{
+		return binaryFile;
+	}
+	
+	/**
+	 * @return the htmlFile
+	 */
+	public Path getHtmlFile()
+	{
+		return htmlFile;
+	}
+	
+	/**
+	 * @param htmlFile
+	 *            the htmlFile to set
+	 */
+	public void setHtmlFile(final Path htmlFile)
+	{
+		this.htmlFile = htmlFile;
+	}
+	
+	/**
+	 * @return the textFile
+	 */
+	public Path getTextFile()
+	{
+		return textFile;
+	}
+	
+	/**
+	 * @param textFile
+	 *            the textFile to set
+	 */
+	public void setTextFile(final Path textFile)
+	{
+		this.textFile = textFile;
+	}
+	
+	/**
+	 * @return the finished
+	 */
+	public boolean isFinished()
+	{
+		return finished;
+	}
+	
+	/**
+	 * @param finished
+	 *            the finished to set
+	 */
+	public void setFinished(final boolean finished)
+	{
+		this.finished = finished;
+	}
+	
+	//======================================================================================
+	// #endregion Getters and setters.
+	////////////////////////////////////////////////////////////////////////////////////////
+	
+	static File getInstance()
+	{
+		synchronized (File.class)
+		{
+			if (instance == null)
+			{
+				instance = new File();
+			}
+			
+			return instance;
+		}
+	}
+	
+	// Singleton!
+	private File()
+	{
+		initFile();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/HTMLEncoder.java
+ *
+ *			Modified: 17-Oct-2026 (14:05:12)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+/**
+ * Converts text to the HTML written to the HTML log, escaping it straight into a builder in one pass.<br />
+ * The output is the same as putting the text in a {@link javax.swing.JTextPane} with an HTML editor kit, and cleaning up
+ * what it gives back, which is how it used to be done: white space is kept using entities, the HTML special characters
+ * are escaped, and so is anything outside printable ASCII, as numeric references of its UTF-16 chars.
+ */
+final class HTMLEncoder
+{
+
+	/**
+	 * Appends a span of the text, as an HTML 'span' of this CSS class, to the builder.
+	 *
+	 * @param builder
+	 *            Builder to append to.
+	 * @param text
+	 *            Text.
+	 * @param start
+	 *            Start of the span.
+	 * @param end
+	 *            End of the span (exclusive).
+	 * @param cssClass
+	 *            CSS class of the style of the text.
+	 * @return the builder
+	 */
+	static StringBuilder encode(final StringBuilder builder, final CharSequence text, final int start, final int end
+			, final String cssClass)
+	{
+		builder.append("<span class=\"").append(cssClass).append("\">");
+
+		// characters that don't need escaping are appended in runs.
+		int run = start;
+
+		for (int i = start; i < end; i++)
+		{
+			final char character = text.charAt(i);
+			final String escaped = escape(character);
+
+			if ((escaped == null) && ((character >= ' ') || (character == '\r')) && (character <= 127))
+			{
+				continue;
+			}
+
+			builder.append(text, run, i);
+			run = i + 1;
+
+			if (escaped == null)
+			{
+				builder.append("&#").append((int) character).append(';');
+			}
+			else
+			{
+				builder.append(escaped);
+			}
+		}
+
+		return builder.append(text, run, end).append("</span>");
+	}
+
+	/* the replacement of the character, if it's one that has a named one. */
+	private static String escape(final char character)
+	{
+		switch (character)
+		{
+			case '\n':
+				return "<br />";
+
+			case '\t':
+				return "&#9;";
+
+			case ' ':
+				return "&nbsp;";
+
+			case '<':
+				return "&lt;";
+
+			case '>':
+				return "&gt;";
+
+			case '&':
+				return "&amp;";
+
+			case '"':
+				return "&quot;";
+
+			default:
+				return null;
+		}
+	}
+
+	private HTMLEncoder()
+	{}
+
+}
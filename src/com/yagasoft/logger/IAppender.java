@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/IAppender.java
+ *
+ *			Modified: 17-Oct-2026 (15:02:36)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Appends encoded bytes to the end of a log file. Used by the writer thread of {@link File} only.
+ */
+interface IAppender
+{
+
+	/**
+	 * Appends all the bytes remaining in the buffer.
+	 *
+	 * @param bytes
+	 *            Bytes; consumed.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void append(ByteBuffer bytes) throws IOException;
+
+	/**
+	 * Forces what was appended to the disk.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void force() throws IOException;
+
+	/**
+	 * @return the length of what was appended to the file so far (before compression), including what was there before
+	 */
+	long size();
+
+	/**
+	 * @return the length of what was appended that's in the file already (before compression); less than the size only
+	 *         while the compressor holds on to the rest
+	 */
+	default long readableSize()
+	{
+		return size();
+	}
+
+	/**
+	 * @return whether the file is compressed, in which case it's GZIP
+	 */
+	default boolean isCompressed()
+	{
+		return false;
+	}
+
+	/**
+	 * Closes the file, leaving it at its real length.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	void close() throws IOException;
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/IExportListener.java
+ *
+ *			Modified: 17-Oct-2026 (23:36:52)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.nio.file.Path;
+
+
+/**
+ * Follows the progress of exporting the log; see {@link Log#exportText(Path, Log.ExportRange, IExportListener)}.<br />
+ * Called on the exporting thread, so hand anything slow (e.g. updating a window) over to another.
+ */
+@FunctionalInterface
+public interface IExportListener
+{
+
+	/**
+	 * Called after each part of the log is copied, and once at the end.
+	 *
+	 * @param done
+	 *            Bytes copied so far.
+	 * @param total
+	 *            Bytes to copy in total; -1 until the end if not known ahead (HTML formed on demand, see
+	 *            {@link Log#setHtmlWriting(boolean)}).
+	 */
+	void progressed(long done, long total);
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/ILogView.java
+ *
+ *			Modified: 17-Oct-2026 (20:09:15)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+/**
+ * Shows the entries as they're written, with their styles; the log window ({@link GUI}).<br />
+ * The writer only knows the view through this, so nothing of the window is loaded when there's none (headless).
+ * Called on the view's own writing thread only.
+ */
+interface ILogView
+{
+
+	/**
+	 * Waits until the view can take entries; e.g. while the scroll bar is held.
+	 *
+	 * @param nanos
+	 *            How long to wait at most.
+	 * @return true, if the view can take entries; false if still not after the time passed
+	 * @throws InterruptedException
+	 *             the interrupted exception
+	 */
+	boolean awaitWriting(long nanos) throws InterruptedException;
+
+	/**
+	 * Lets the writer through, even if the view isn't ready; used to drain the log at shutdown.
+	 */
+	void releaseWriting();
+
+	/**
+	 * Adds a styled span to the end of the view.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param style
+	 *            Style ID; see {@link Logger#getStyleFontSize(int)}.
+	 */
+	void showSegment(String text, int style);
+
+	/**
+	 * Ends the entry being shown.
+	 *
+	 * @param style
+	 *            Style ID of its last segment.
+	 */
+	void endEntry(int style);
+
+}
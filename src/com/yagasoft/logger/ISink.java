@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/ISink.java
+ *
+ *			Modified: 17-Oct-2026 (20:41:06)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.util.List;
+
+
+/**
+ * An output of the log, besides its files and window; e.g. a socket, or a database.<br />
+ * Add one using {@link Log#addSink(ISink)}, or list it in 'META-INF/services/com.yagasoft.logger.ISink' to have it
+ * found when the log is initialised.<br />
+ * <br />
+ * Each sink gets its own queue and thread, so a slow one never holds up the log, or the other sinks; when its queue is
+ * full, the entries it misses are counted in {@link Metrics#getDroppedBySink(ISink)}.
+ * All methods are called on the sink's thread, except {@link #close()}, which is called at shutdown.
+ */
+public interface ISink
+{
+
+	/**
+	 * Called once, before any entries are passed; e.g. to open a connection.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	default void start() throws IOException
+	{}
+
+	/**
+	 * Takes a batch of entries, in the order they were written.
+	 *
+	 * @param batch
+	 *            Entries; reused after the call, so copy it to keep it.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred; the batch is then lost to this sink only.
+	 */
+	void onBatch(List<LogEvent> batch) throws IOException;
+
+	/**
+	 * Called when no entries are waiting, after a batch; e.g. to flush a buffer.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	default void flush() throws IOException
+	{}
+
+	/**
+	 * Called once at shutdown, after the entries waiting are passed, and flushed. If the shutdown times out
+	 * ({@link Log#setShutdownTimeout(long)}) first, the sink's thread is interrupted, and this is only called once it
+	 * returns; never while a batch is being passed.
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	default void close() throws IOException
+	{}
+
+	/**
+	 * @return the most entries to pass in one batch
+	 */
+	default int getBatchSize()
+	{
+		return 64;
+	}
+
+	/**
+	 * @return the most entries to hold for the sink while it's busy, after which it misses the new ones
+	 */
+	default int getQueueCapacity()
+	{
+		return 1024;
+	}
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Journal.java
+ *
+ *			Modified: 17-Oct-2026 (23:59:48)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Keeps each entry posted, from the moment it's posted until it's written to the text log file, in a memory-mapped
+ * file; see {@link Log#setJournaling(boolean)}. The mapping belongs to the OS, so what's in it survives the process
+ * being killed; on the next start, what wasn't written is recovered ({@link #recover()}), and posted again.<br />
+ * The producers append to it directly, without locking: each encodes its entry on its own, then takes its space with a
+ * CAS. The file writer marks each entry done once it's written; the space is reused in order, as a ring, once all
+ * entries before it are done. If it's full, entries are posted without it.<br />
+ * <br />
+ * <pre>
+ * file:   'YJNL', version (byte), 3 unused bytes, capacity (int), head (long), tail (long), unused up to 64 bytes,
+ *         then the records
+ * record: length of the body (int), CRC-32C of the body (int), state (byte), time in microseconds since the epoch
+ *         (long), body ({@link BinaryLog#encode(Entry)})
+ * </pre>
+ * Head and tail are in bytes since the file was started; the records between them are in use. A record that doesn't
+ * fit before the end starts at the beginning, after a length of -1 (if there's room for it).<br />
+ * The file is locked while in use, so another process logging to the same folder can't recover the records of this one.
+ */
+final class Journal
+{
+
+	/** Position of an entry that's not in the journal. */
+	static final long				NOT_JOURNALED	= -1;
+
+	/** Room for records; bounds how much can be waiting to be written when the process dies. */
+	static final int				CAPACITY		= 16 * 1024 * 1024;
+
+	private static final byte[]		MAGIC			= { 'Y', 'J', 'N', 'L' };
+	private static final byte		VERSION			= 1;
+
+	/* where the head and tail are kept, and where the records start. */
+	private static final int		HEAD_OFFSET		= 16;
+	private static final int		TAIL_OFFSET		= 24;
+	private static final int		DATA			= 64;
+
+	/* length, CRC, state, and time of a record. */
+	private static final int		RECORD_HEAD		= 4 + 4 + 1 + 8;
+
+	/* marks the rest of the ring as unused; the next record is at its beginning. */
+	private static final int		WRAP			= -1;
+
+	/* waiting to be written, or written (or dropped, so never to be). */
+	private static final byte		PENDING			= 1;
+	private static final byte		DONE			= 2;
+
+	private final MappedByteBuffer	mapping;
+
+	/* kept open, so the lock on the file is held for the session. */
+	private final FileChannel		channel;
+
+	/* each producer encodes its records, and copies them into the mapping, on its own. */
+	private final ThreadLocal<BinaryLog>	encoders	= ThreadLocal.withInitial(BinaryLog::new);
+	private final ThreadLocal<ByteBuffer>	views		= ThreadLocal.withInitial(this::newView);
+
+	/*
+	 * Where the next record goes; the records before the head are written, in order, and the head is copied into the
+	 * file. A producer only moves the head past its record once those reserved before it are written, so done() and
+	 * recover() never read one being written.
+	 */
+	private final AtomicLong		reserved		= new AtomicLong();
+	private volatile long			head;
+
+	/* copy of the tail in the file; only moved by done(), and recover(). */
+	private volatile long			tail;
+
+	/**
+	 * Opens the journal, creating it if it doesn't exist, or isn't a journal of this version, and locks it; what's in it
+	 * is kept until {@link #recover()}.
+	 *
+	 * @param file
+	 *            Journal file.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred, or that another process holds the journal.
+	 */
+	Journal(final Path file) throws IOException
+	{
+		Files.createDirectories(file.getParent());
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try
+		{
+			if (channel.tryLock() == null)
+			{
+				throw new IOException("The journal is in use by another process: " + file);
+			}
+
+			final boolean valid = channel.size() == (DATA + CAPACITY);
+			mapping = channel.map(MapMode.READ_WRITE, 0, DATA + CAPACITY);
+
+			final byte[] magic = new byte[MAGIC.length];
+			((ByteBuffer) mapping.duplicate().position(0)).get(magic);
+
+			long head = 0;
+			long tail = 0;
+
+			if (valid && Arrays.equals(magic, MAGIC) && (mapping.get(MAGIC.length) == VERSION)
+					&& (mapping.getInt(8) == CAPACITY))
+			{
+				head = mapping.getLong(HEAD_OFFSET);
+				tail = mapping.getLong(TAIL_OFFSET);
+			}
+
+			// not a journal, or a corrupt one; start afresh.
+			if ((head < tail) || ((head - tail) > CAPACITY))
+			{
+				head = tail = 0;
+			}
+
+			this.head = head;
+			this.tail = tail;
+			reserved.set(head);
+
+			((ByteBuffer) mapping.duplicate().position(0)).put(MAGIC).put(VERSION);
+			mapping.putInt(8, CAPACITY);
+			mapping.putLong(HEAD_OFFSET, head);
+			mapping.putLong(TAIL_OFFSET, tail);
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			channel.close();
+			throw e;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Journaling.
+	//======================================================================================
+
+	/**
+	 * Appends the entry, for the producer posting it; it only waits for producers that took their space just before it
+	 * to finish copying their records.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return where it is in the journal, to be marked {@link #done(long)} when written; or {@link #NOT_JOURNALED} if
+	 *         there's no room
+	 */
+	long append(final Entry entry)
+	{
+		final BinaryLog encoder = encoders.get();
+		final int length = encoder.encodeBody(entry);
+		final byte[] body = encoder.getBody();
+		final int size = RECORD_HEAD + length;
+
+		long start;
+		int skipped;
+
+		do
+		{
+			start = reserved.get();
+
+			// the record doesn't fit before the end, so it goes at the beginning.
+			final int physical = (int) (start % CAPACITY);
+			skipped = ((CAPACITY - physical) < size) ? (CAPACITY - physical) : 0;
+
+			if (((start - tail) + skipped + size) > CAPACITY)
+			{
+				return NOT_JOURNALED;
+			}
+		}
+		while ( !reserved.compareAndSet(start, start + skipped + size));
+
+		if (skipped >= 4)
+		{
+			mapping.putInt(DATA + (int) (start % CAPACITY), WRAP);
+		}
+
+		final long position = start + skipped;
+		final int offset = DATA + (int) (position % CAPACITY);
+		mapping.putInt(offset, length);
+		mapping.putInt(offset + 4, Crc32c.compute(body, 0, length));
+		mapping.put(offset + 8, PENDING);
+		mapping.putLong(offset + 9, entry.getTime());
+
+		final ByteBuffer view = views.get();
+		view.position(offset + RECORD_HEAD);
+		view.put(body, 0, length);
+
+		// the head moves in order, so wait for the records before this one; they're only being copied.
+		while (head != start)
+		{
+			Thread.yield();
+		}
+
+		mapping.putLong(HEAD_OFFSET, position + size);
+		head = position + size;
+
+		return position;
+	}
+
+	/**
+	 * Marks the entry done: written to the log file, or dropped; its space is reused once all before it are done.
+	 *
+	 * @param position
+	 *            Where it is in the journal; ignored if {@link #NOT_JOURNALED}.
+	 */
+	synchronized void done(final long position)
+	{
+		if (position == NOT_JOURNALED)
+		{
+			return;
+		}
+
+		mapping.put(DATA + (int) (position % CAPACITY) + 8, DONE);
+
+		// free the done ones at the tail.
+		while (tail < head)
+		{
+			final int physical = (int) (tail % CAPACITY);
+
+			if (((CAPACITY - physical) < RECORD_HEAD) || (mapping.getInt(DATA + physical) == WRAP))
+			{
+				tail += CAPACITY - physical;
+			}
+			else if (mapping.get(DATA + physical + 8) == DONE)
+			{
+				tail += RECORD_HEAD + mapping.getInt(DATA + physical);
+			}
+			else
+			{
+				break;
+			}
+		}
+
+		mapping.putLong(TAIL_OFFSET, tail);
+	}
+
+	//======================================================================================
+	// #endregion Journaling.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Recovery.
+	//======================================================================================
+
+	/**
+	 * Takes out the entries the last session didn't write, in the order they were posted, and empties the journal;
+	 * call once, before anything is appended.
+	 * A record failing its check (e.g. cut short by a power cut) is skipped.
+	 *
+	 * @return the entries
+	 */
+	synchronized List<Entry> recover()
+	{
+		final List<Entry> entries = new ArrayList<Entry>();
+		final BinaryLogReader decoder = new BinaryLogReader();
+		final ByteBuffer reader = mapping.duplicate();
+		byte[] body = new byte[1024];
+
+		for (long position = tail; position < head; )
+		{
+			final int physical = (int) (position % CAPACITY);
+			final int offset = DATA + physical;
+
+			if (((CAPACITY - physical) < RECORD_HEAD) || (mapping.getInt(offset) == WRAP))
+			{
+				position += CAPACITY - physical;
+				continue;
+			}
+
+			final int length = mapping.getInt(offset);
+
+			// the rest can't be trusted without a length.
+			if ((length <= 0) || (length > (CAPACITY - physical - RECORD_HEAD)))
+			{
+				break;
+			}
+
+			position += RECORD_HEAD + length;
+
+			if (mapping.get(offset + 8) != PENDING)
+			{
+				continue;
+			}
+
+			if (length > body.length)
+			{
+				body = new byte[Math.max(length, body.length * 2)];
+			}
+
+			reader.position(offset + RECORD_HEAD);
+			reader.get(body, 0, length);
+
+			if (Crc32c.compute(body, 0, length) != mapping.getInt(offset + 4))
+			{
+				continue;
+			}
+
+			try
+			{
+				final Entry entry = new Entry();
+				entry.copyFrom(decoder.decode(body, length, mapping.getLong(offset + 9)));
+				entries.add(entry);
+			}
+			catch (final IOException | RuntimeException e)
+			{
+				e.printStackTrace();
+			}
+		}
+
+		head = tail = 0;
+		reserved.set(0);
+		mapping.putLong(HEAD_OFFSET, head);
+		mapping.putLong(TAIL_OFFSET, tail);
+
+		return entries;
+	}
+
+	//======================================================================================
+	// #endregion Recovery.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/* a view of the mapping for a producer to copy into. */
+	private ByteBuffer newView()
+	{
+		return mapping.duplicate();
+	}
+
+}
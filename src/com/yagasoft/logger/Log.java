@@ -1,399 +1,987 @@
-//******************************************************************
-// Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
-//
-//		The Modified MIT Licence (GPL v3 compatible)
-// 			Licence terms are in a separate file (LICENCE.md)
-//
-//		Project/File: Logger/com.yagasoft.logger/Log.java
-//
-//			Modified: 15-Nov-2014 (14:53:28)
-//			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
-//******************************************************************
-
-package com.yagasoft.logger;
-
-
-import com.yagasoft.logger.menu.panels.option.Options;
-
-
-/**
- * Public 'interface' class for the logger.
- */
-public final class Log
-{
-
-	/**
-	 * Options for {@link Logger#infoColouredSequence(int, String, String, SequenceOption...)}
-	 */
-	public static enum SequenceOption
-	{
-
-		/** Remove separator after using it to split the string. */
-		REMOVE_SEPARATOR,
-
-		/** Black-coloured last string. */
-		BLACK_LAST_STRING,
-
-		/** Colour the last string. */
-		COLOUR_LAST_STRING,
-
-		/** No option! */
-		NONE
-	}
-
-	/** Constant: VERSION. */
-	public static final String	VERSION						= "6.04.240";
-
-	/** Instance. Set by calling {@link #initLogger(String, int, boolean)}. */
-	private static Logger		instance;
-
-	/* Default number of colours. */
-	private static int			defaultNumberOfColours		= 7;
-
-	/* Default coloured strings separator for {@link #infoColoured(String...)}. */
-	private static String		defaultColouringSeparator	= " ";
-
-	/* Default black last string flag for {@link #infoColouredSeparator(String, String...)}. */
-	private static boolean		defaultBlackLastString;
-
-	private static StringBuilder builder = new StringBuilder(512);
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Initialisation.
-	//======================================================================================
-
-	/**
-	 * Convenience method for {@link #initAndShowLogger(String, int, boolean)}, using defaults (' ', max, false).
-	 */
-	public static void initAndShowLogger()
-	{
-		initAndShowLogger(getDefaultColouringSeparator(), getDefaultNumberOfColours(), defaultBlackLastString);
-	}
-
-	/**
-	 * Convenience method for {@link #initLogger(String, int, boolean)}.
-	 *
-	 * @param defaultSeparator
-	 *            Default separator.
-	 * @param defaultNumberOfColours
-	 *            Default number of colours.
-	 * @param defaultBlackLastString
-	 *            Default black last string?
-	 */
-	public static void initAndShowLogger(final String defaultSeparator, final int defaultNumberOfColours
-			, final boolean defaultBlackLastString)
-	{
-		initLogger(defaultSeparator, defaultNumberOfColours, defaultBlackLastString);
-		getInstance().getGui().showLogger();
-	}
-
-	/**
-	 * Convenience method for {@link #initLogger(String, int, boolean)}, using defaults (' ', max, false).
-	 */
-	public static void initLogger()
-	{
-		initLogger(getDefaultColouringSeparator(), getDefaultNumberOfColours(), defaultBlackLastString);
-	}
-
-	/**
-	 * Initialises the logger by loading the options, initialising the log file, and the GUI.
-	 *
-	 * @param defaultSeparator
-	 *            Default separator to use for {@link #infoColoured(String...)}
-	 * @param defaultNumberOfColours
-	 *            Default number of colours to use for {@link #info(String, int...)}
-	 * @param defaultBlackLastString
-	 *            Default black last string to use for {@link #infoColouredSeparator(int, boolean, String, String...)}
-	 */
-	public static void initLogger(final String defaultSeparator, final int defaultNumberOfColours
-			, final boolean defaultBlackLastString)
-	{
-		getInstance().initLogger(defaultSeparator, defaultNumberOfColours, defaultBlackLastString);
-	}
-
-	/**
-	 * Show logger window.
-	 */
-	public static void showLogger()
-	{
-		instance.getGui().showLogger();
-	}
-
-	/**
-	 * Hide logger window.
-	 */
-	public static void hideLogger()
-	{
-		instance.getGui().hideLogger();
-	}
-
-	//======================================================================================
-	// #endregion Initialisation.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	// //////////////////////////////////////////////////////////////////////////////////////
-	// #region Public posting interface.
-	// ======================================================================================
-
-	//--------------------------------------------------------------------------------------
-	// #region Info posting.
-
-	/**
-	 * Informing log entry. You can use '`' character as to wrap words to be coloured. Colouring will cycle between 7 colours.
-	 *
-	 * @param entry
-	 *            Entry.
-	 * @param coloursToUse
-	 *            Number of colours to use, excluding black (current max is 7), optional.
-	 *            Anything outside 0..max results in max.
-	 */
-	public static void info(final String entry, final int... coloursToUse)
-	{
-		instance.info(entry, coloursToUse);
-	}
-
-	/**
-	 * Informing log entries. This will be posted one after the other in the same time-stamp.
-	 * You can use '`' character as to wrap words to be coloured. Colouring will cycle between colours.
-	 *
-	 * @param coloursToUse
-	 *            Number of colours to use, excluding black (current max is 7). Pass '-1' for max colours.
-	 * @param entries
-	 *            List of entries to post.
-	 */
-	public static void info(final int coloursToUse, final String... entries)
-	{
-		instance.info(coloursToUse, entries);
-	}
-
-	/**
-	 * Post strings, coloured using the max number of colours, and separated (added to entry) by the default set separator.
-	 * It doesn't colour the last string as black.
-	 *
-	 * @param strings
-	 *            Strings.
-	 */
-	public static void infoColoured(final String... strings)
-	{
-		infoColouredSeparator(getDefaultColouringSeparator(), strings);
-	}
-
-	/**
-	 * Post strings, coloured using the number of colours passed, and separated (added to entry) by the default set separator.
-	 *
-	 * @param coloursToUse
-	 *            Colours to use, -1 for max.
-	 * @param blackLastString
-	 *            Black last string?
-	 * @param strings
-	 *            Strings.
-	 */
-	public static void infoColoured(final int coloursToUse, final boolean blackLastString, final String... strings)
-	{
-		infoColouredSeparator(coloursToUse, blackLastString, getDefaultColouringSeparator(), strings);
-	}
-
-	/**
-	 * Post strings, coloured using the max number of colours, and separated (added to entry) by the passed separator.
-	 * It doesn't colour the last string as black.
-	 *
-	 * @param separator
-	 *            Separator.
-	 * @param strings
-	 *            Strings.
-	 */
-	public static void infoColouredSeparator(final String separator, final String... strings)
-	{
-		infoColouredSeparator(getDefaultNumberOfColours(), defaultBlackLastString, separator, strings);
-	}
-
-	/**
-	 * Post strings, coloured using the number of colours passed, and separated (added to entry) by the passed separator.
-	 *
-	 * @param coloursToUse
-	 *            Colours to use, -1 for max.
-	 * @param blackLastString
-	 *            Black last string?
-	 * @param separator
-	 *            Separator.
-	 * @param strings
-	 *            Strings.
-	 */
-	public static void infoColouredSeparator(final int coloursToUse, final boolean blackLastString
-			, final String separator, final String... strings)
-	{
-		instance.infoColouredSeparator(coloursToUse, blackLastString, separator, strings);
-	}
-
-	/**
-	 * Post this string using {@link #infoColouredSequence(int, String, String, SequenceOption...)} after splitting it using
-	 * the separator passed. It forwards the {@link #defaultNumberOfColours}.
-	 *
-	 * @param separator
-	 *            Separator.
-	 * @param string
-	 *            String.
-	 * @param options
-	 *            Options list accepts 'removal of separator' (default false), 'colour last string',
-	 *            and 'black last string' flags.
-	 *            The defaults {@link #defaultBlackLastString} for latter two if neither is passed.
-	 */
-	public static void infoColouredSequence(final String separator, final String string, final SequenceOption... options)
-	{
-		infoColouredSequence(getDefaultNumberOfColours(), separator, string, options);
-	}
-
-	/**
-	 * Post this string using {@link #infoColouredSeparator(int, boolean, String, String...)} after splitting it using the
-	 * separator passed.
-	 *
-	 * @param coloursToUse
-	 *            Colours to use, -1 for max.
-	 * @param separator
-	 *            Separator.
-	 * @param string
-	 *            String.
-	 * @param optionsList
-	 *            Options list accepts 'removal of separator' (default false), 'colour last string',
-	 *            and 'black last string' flags.
-	 *            The defaults {@link #defaultBlackLastString} for latter two if neither is passed.
-	 */
-	public static void infoColouredSequence(final int coloursToUse, final String separator, final String string
-			, final SequenceOption... optionsList)
-	{
-		instance.infoColouredSequence(coloursToUse, separator, string, optionsList);
-	}
-
-	// #endregion Info posting.
-	//--------------------------------------------------------------------------------------
-
-	/**
-	 * Error log entry. You can use '`' character as to wrap words to be coloured black.
-	 *
-	 * @param entry
-	 *            Entry.
-	 */
-	public static void error(final String entry)
-	{
-		instance.error(entry);
-	}
-
-	/**
-	 * Error log entry. This will be posted one after the other in the same time-stamp.
-	 * You can use '`' character as to wrap words to be coloured black.
-	 *
-	 * @param entries
-	 *            Entries.
-	 */
-	public static void errors(final String... entries)
-	{
-		instance.errors(entries);
-	}
-
-	/**
-	 * Exception log entry.
-	 *
-	 * @param exception
-	 *            the Exception.
-	 */
-	public static void except(final Throwable exception)
-	{
-		instance.except(exception);
-	}
-
-	// ======================================================================================
-	// #endregion Public posting interface.
-	// //////////////////////////////////////////////////////////////////////////////////////
-
-	/**
-	 * Capture {@link System#out} or {@link System#err}. Useful for saving the output to file, or minimising the console to tray.
-	 */
-	public static void captureSysOutErr()
-	{
-		Options.getInstance().setCaptureConsole(true);
-	}
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Setters and getters.
-	//======================================================================================
-
-	/**
-	 * @return the defaultNumberOfColours
-	 */
-	public static int getDefaultNumberOfColours()
-	{
-		return defaultNumberOfColours;
-	}
-
-	/**
-	 * @param defaultNumberOfColours
-	 *            the defaultNumberOfColours to set
-	 */
-	public static void setDefaultNumberOfColours(final int defaultNumberOfColours)
-	{
-		Log.defaultNumberOfColours = defaultNumberOfColours;
-	}
-
-	/**
-	 * @return the defaultColouringSeparator
-	 */
-	public static String getDefaultColouringSeparator()
-	{
-		return defaultColouringSeparator;
-	}
-
-	/**
-	 * @param defaultColouringSeparator
-	 *            the defaultColouringSeparator to set
-	 */
-	public static void setDefaultColouringSeparator(final String defaultColouringSeparator)
-	{
-		Log.defaultColouringSeparator = defaultColouringSeparator;
-	}
-
-	//======================================================================================
-	// #endregion Setters and getters.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-
-	/**
-	 * Builds a string using a {@link StringBuilder} to save memory.
-	 *
-	 * @param objects
-	 *            Objects to extract strings from.
-	 * @return String built
-	 */
-	synchronized static String buildString(final Object... objects)
-	{
-		builder.setLength(0);
-
-		for (final Object object : objects)
-		{
-			builder.append(object.toString());
-		}
-
-		return builder.toString();
-	}
-
-	/**
-	 * Gets the instance.
-	 *
-	 * @return the instance
-	 */
-	public static Logger getInstance()
-	{
-		synchronized (Logger.class)
-		{
-			if (instance == null)
-			{
-				instance = new Logger();
-			}
-
-			return instance;
-		}
-	}
-
-	private Log()
-	{}
-
-}
+//******************************************************************
+// Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+//
+//		The Modified MIT Licence (GPL v3 compatible)
+// 			Licence terms are in a separate file (LICENCE.md)
+//
+//		Project/File: Logger/com.yagasoft.logger/Log.java
+//
+//			Modified: 15-Nov-2014 (14:53:28)
+//			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+//******************************************************************
+
+package com.yagasoft.logger;
+
+
+import java.nio.file.Path;
+import java.util.TimeZone;
+import java.util.concurrent.Future;
+
+import com.yagasoft.logger.menu.panels.option.Options;
+
+
+/**
+ * Public 'interface' class for the logger.
+ */
+public final class Log
+{
+
+	/**
+	 * Options for {@link Logger#infoColouredSequence(int, String, String, SequenceOption...)}
+	 */
+	public static enum SequenceOption
+	{
+
+		/** Remove separator after using it to split the string. */
+		REMOVE_SEPARATOR,
+
+		/** Black-coloured last string. */
+		BLACK_LAST_STRING,
+
+		/** Colour the last string. */
+		COLOUR_LAST_STRING,
+
+		/** No option! */
+		NONE
+	}
+
+	/**
+	 * What to do with an entry when the log can't keep up with the entries posted. Posting never blocks except with
+	 * {@link #BLOCK}.
+	 */
+	public static enum OverflowPolicy
+	{
+
+		/** Wait for room; posting blocks until the log catches up. */
+		BLOCK,
+
+		/** Drop the entry being posted. */
+		DROP_NEWEST,
+
+		/** Throw away the oldest entry waiting, to make room for the new one. */
+		DROP_OLDEST,
+
+		/** Keep only one in every {@link Log#setSampleRate(int) sample rate} entries while the log is nearly full. */
+		SAMPLE,
+
+		/**
+		 * Spill the entry to a memory-mapped file, to be replayed in order as the log catches up; entries posted
+		 * meanwhile follow it there. Dropped if that's full as well (64 MB).
+		 */
+		SPILL_TO_DISK
+	}
+
+	/**
+	 * When the log files are forced to the disk, as opposed to leaving that to the OS. Entries always reach the OS as soon
+	 * as they're written; forcing them is what makes them survive a power cut, or an OS crash.
+	 */
+	public static enum DurabilityPolicy
+	{
+
+		/** Only force when the log files are closed (rolled over, or at shutdown); the OS writes to the disk when it sees fit. */
+		NO_SYNC,
+
+		/** Force every {@link Log#setFlushInterval(long) flush interval}, if anything was written since the last time. */
+		PERIODIC,
+
+		/** Like {@link #PERIODIC}, and also right after an error, or exception, is written. */
+		ERRORS,
+
+		/** Force after every batch written; the safest, and the slowest. */
+		EVERY_BATCH
+	}
+
+	/**
+	 * When to start a new log file, regardless of its size, or number of entries.
+	 */
+	public static enum RollTime
+	{
+
+		/** Only roll by size, or number of entries, if set. */
+		NEVER,
+
+		/** At the start of each hour. */
+		HOURLY,
+
+		/** At midnight. */
+		DAILY
+	}
+
+	/**
+	 * How precise the time shown at the start of each entry is.
+	 */
+	public static enum TimePrecision
+	{
+
+		/** Seconds; e.g. '02:15:07 PM'. */
+		SECONDS,
+
+		/** Milliseconds; e.g. '02:15:07.305 PM'. */
+		MILLISECONDS,
+
+		/** Microseconds; e.g. '02:15:07.305122 PM'. */
+		MICROSECONDS
+	}
+
+	/**
+	 * Entries of the current log file to export; see {@link Log#exportText(Path, ExportRange, IExportListener)}.
+	 * The part of the file holding them is found using an index, so the file isn't read to find it.
+	 */
+	public static final class ExportRange
+	{
+
+		/** All entries of the current log file; since the last roll-over, if any. */
+		public static final ExportRange	ALL	= new ExportRange(false, 0, Long.MAX_VALUE);
+
+		private final boolean			byTime;
+		private final long				from;
+		private final long				to;
+
+		/**
+		 * Entries posted within a period.
+		 *
+		 * @param from
+		 *            Start of the period, in milliseconds since the epoch.
+		 * @param to
+		 *            End of the period (exclusive), in milliseconds since the epoch.
+		 * @return the range
+		 */
+		public static ExportRange ofTime(final long from, final long to)
+		{
+			return new ExportRange(true, from, to);
+		}
+
+		/**
+		 * Entries by their number in the current log file, starting from 0.
+		 *
+		 * @param from
+		 *            Number of the first entry.
+		 * @param to
+		 *            Number of the entry after the last (exclusive).
+		 * @return the range
+		 */
+		public static ExportRange ofEntries(final long from, final long to)
+		{
+			return new ExportRange(false, from, to);
+		}
+
+		private ExportRange(final boolean byTime, final long from, final long to)
+		{
+			this.byTime = byTime;
+			this.from = from;
+			this.to = to;
+		}
+
+		/**
+		 * @return whether it's a period, rather than entry numbers
+		 */
+		public boolean isByTime()
+		{
+			return byTime;
+		}
+
+		/**
+		 * @return the start: milliseconds since the epoch, or an entry number
+		 */
+		public long getFrom()
+		{
+			return from;
+		}
+
+		/**
+		 * @return the end (exclusive): milliseconds since the epoch, or an entry number
+		 */
+		public long getTo()
+		{
+			return to;
+		}
+	}
+
+	/** Constant: VERSION. */
+	public static final String	VERSION						= "6.04.240";
+
+	/** Instance. Set by calling {@link #initLogger(String, int, boolean)}. */
+	private static Logger		instance;
+
+	/* Default number of colours. */
+	private static int			defaultNumberOfColours		= 7;
+
+	/* Default coloured strings separator for {@link #infoColoured(String...)}. */
+	private static String		defaultColouringSeparator	= " ";
+
+	/* Default black last string flag for {@link #infoColouredSeparator(String, String...)}. */
+	private static boolean		defaultBlackLastString;
+
+	/* each thread builds its strings in its own builder, so building never waits on other threads. */
+	private static final ThreadLocal<StringBuilder>	builders		= ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+	/* a builder that grew beyond this is replaced instead of reused, so one huge string doesn't stay around forever. */
+	private static final int						MAX_BUILDER	= 64 * 1024;
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Initialisation.
+	//======================================================================================
+
+	/**
+	 * Convenience method for {@link #initAndShowLogger(String, int, boolean)}, using defaults (' ', max, false).
+	 */
+	public static void initAndShowLogger()
+	{
+		initAndShowLogger(getDefaultColouringSeparator(), getDefaultNumberOfColours(), defaultBlackLastString);
+	}
+
+	/**
+	 * Convenience method for {@link #initLogger(String, int, boolean)}.
+	 *
+	 * @param defaultSeparator
+	 *            Default separator.
+	 * @param defaultNumberOfColours
+	 *            Default number of colours.
+	 * @param defaultBlackLastString
+	 *            Default black last string?
+	 */
+	public static void initAndShowLogger(final String defaultSeparator, final int defaultNumberOfColours
+			, final boolean defaultBlackLastString)
+	{
+		initLogger(defaultSeparator, defaultNumberOfColours, defaultBlackLastString);
+		showLogger();
+	}
+
+	/**
+	 * Convenience method for {@link #initLogger(String, int, boolean)}, using defaults (' ', max, false).
+	 */
+	public static void initLogger()
+	{
+		initLogger(getDefaultColouringSeparator(), getDefaultNumberOfColours(), defaultBlackLastString);
+	}
+
+	/**
+	 * Initialises the logger by loading the options, initialising the log file, and the GUI (unless headless).
+	 *
+	 * @param defaultSeparator
+	 *            Default separator to use for {@link #infoColoured(String...)}
+	 * @param defaultNumberOfColours
+	 *            Default number of colours to use for {@link #info(String, int...)}
+	 * @param defaultBlackLastString
+	 *            Default black last string to use for {@link #infoColouredSeparator(int, boolean, String, String...)}
+	 */
+	public static void initLogger(final String defaultSeparator, final int defaultNumberOfColours
+			, final boolean defaultBlackLastString)
+	{
+		getInstance().initLogger(defaultSeparator, defaultNumberOfColours, defaultBlackLastString);
+	}
+
+	/**
+	 * Adds an output to the log, which gets the entries posted from now on, on a thread of its own; see {@link ISink}.
+	 * Sinks listed in 'META-INF/services/com.yagasoft.logger.ISink' are added when the log is initialised.
+	 *
+	 * @param sink
+	 *            the sink
+	 */
+	public static void addSink(final ISink sink)
+	{
+		getInstance().addSink(sink);
+	}
+
+	/**
+	 * Show logger window.
+	 */
+	public static void showLogger()
+	{
+		// headless?
+		if (instance.getGui() != null)
+		{
+			instance.getGui().showLogger();
+		}
+	}
+
+	/**
+	 * Hide logger window.
+	 */
+	public static void hideLogger()
+	{
+		if (instance.getGui() != null)
+		{
+			instance.getGui().hideLogger();
+		}
+	}
+
+	//======================================================================================
+	// #endregion Initialisation.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	// //////////////////////////////////////////////////////////////////////////////////////
+	// #region Public posting interface.
+	// ======================================================================================
+
+	//--------------------------------------------------------------------------------------
+	// #region Info posting.
+
+	/**
+	 * Informing log entry. You can use '`' character as to wrap words to be coloured. Colouring will cycle between 7 colours.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @param coloursToUse
+	 *            Number of colours to use, excluding black (current max is 7), optional.
+	 *            Anything outside 0..max results in max.
+	 */
+	public static void info(final String entry, final int... coloursToUse)
+	{
+		instance.info(entry, coloursToUse);
+	}
+
+	/**
+	 * Informing log entries. This will be posted one after the other in the same time-stamp.
+	 * You can use '`' character as to wrap words to be coloured. Colouring will cycle between colours.
+	 *
+	 * @param coloursToUse
+	 *            Number of colours to use, excluding black (current max is 7). Pass '-1' for max colours.
+	 * @param entries
+	 *            List of entries to post.
+	 */
+	public static void info(final int coloursToUse, final String... entries)
+	{
+		instance.info(coloursToUse, entries);
+	}
+
+	/**
+	 * Post strings, coloured using the max number of colours, and separated (added to entry) by the default set separator.
+	 * It doesn't colour the last string as black.
+	 *
+	 * @param strings
+	 *            Strings.
+	 */
+	public static void infoColoured(final String... strings)
+	{
+		infoColouredSeparator(getDefaultColouringSeparator(), strings);
+	}
+
+	/**
+	 * Post strings, coloured using the number of colours passed, and separated (added to entry) by the default set separator.
+	 *
+	 * @param coloursToUse
+	 *            Colours to use, -1 for max.
+	 * @param blackLastString
+	 *            Black last string?
+	 * @param strings
+	 *            Strings.
+	 */
+	public static void infoColoured(final int coloursToUse, final boolean blackLastString, final String... strings)
+	{
+		infoColouredSeparator(coloursToUse, blackLastString, getDefaultColouringSeparator(), strings);
+	}
+
+	/**
+	 * Post strings, coloured using the max number of colours, and separated (added to entry) by the passed separator.
+	 * It doesn't colour the last string as black.
+	 *
+	 * @param separator
+	 *            Separator.
+	 * @param strings
+	 *            Strings.
+	 */
+	public static void infoColouredSeparator(final String separator, final String... strings)
+	{
+		infoColouredSeparator(getDefaultNumberOfColours(), defaultBlackLastString, separator, strings);
+	}
+
+	/**
+	 * Post strings, coloured using the number of colours passed, and separated (added to entry) by the passed separator.
+	 *
+	 * @param coloursToUse
+	 *            Colours to use, -1 for max.
+	 * @param blackLastString
+	 *            Black last string?
+	 * @param separator
+	 *            Separator.
+	 * @param strings
+	 *            Strings.
+	 */
+	public static void infoColouredSeparator(final int coloursToUse, final boolean blackLastString
+			, final String separator, final String... strings)
+	{
+		instance.infoColouredSeparator(coloursToUse, blackLastString, separator, strings);
+	}
+
+	/**
+	 * Post this string using {@link #infoColouredSequence(int, String, String, SequenceOption...)} after splitting it using
+	 * the separator passed. It forwards the {@link #defaultNumberOfColours}.
+	 *
+	 * @param separator
+	 *            Separator.
+	 * @param string
+	 *            String.
+	 * @param options
+	 *            Options list accepts 'removal of separator' (default false), 'colour last string',
+	 *            and 'black last string' flags.
+	 *            The defaults {@link #defaultBlackLastString} for latter two if neither is passed.
+	 */
+	public static void infoColouredSequence(final String separator, final String string, final SequenceOption... options)
+	{
+		infoColouredSequence(getDefaultNumberOfColours(), separator, string, options);
+	}
+
+	/**
+	 * Post this string using {@link #infoColouredSeparator(int, boolean, String, String...)} after splitting it using the
+	 * separator passed.
+	 *
+	 * @param coloursToUse
+	 *            Colours to use, -1 for max.
+	 * @param separator
+	 *            Separator.
+	 * @param string
+	 *            String.
+	 * @param optionsList
+	 *            Options list accepts 'removal of separator' (default false), 'colour last string',
+	 *            and 'black last string' flags.
+	 *            The defaults {@link #defaultBlackLastString} for latter two if neither is passed.
+	 */
+	public static void infoColouredSequence(final int coloursToUse, final String separator, final String string
+			, final SequenceOption... optionsList)
+	{
+		instance.infoColouredSequence(coloursToUse, separator, string, optionsList);
+	}
+
+	// #endregion Info posting.
+	//--------------------------------------------------------------------------------------
+
+	/**
+	 * Error log entry. You can use '`' character as to wrap words to be coloured black.
+	 *
+	 * @param entry
+	 *            Entry.
+	 */
+	public static void error(final String entry)
+	{
+		instance.error(entry);
+	}
+
+	/**
+	 * Error log entry. This will be posted one after the other in the same time-stamp.
+	 * You can use '`' character as to wrap words to be coloured black.
+	 *
+	 * @param entries
+	 *            Entries.
+	 */
+	public static void errors(final String... entries)
+	{
+		instance.errors(entries);
+	}
+
+	/**
+	 * Exception log entry.
+	 *
+	 * @param exception
+	 *            the Exception.
+	 */
+	public static void except(final Throwable exception)
+	{
+		instance.except(exception);
+	}
+
+	// ======================================================================================
+	// #endregion Public posting interface.
+	// //////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Capture {@link System#out} or {@link System#err}. Useful for saving the output to file, or minimising the console to tray.
+	 */
+	public static void captureSysOutErr()
+	{
+		Options.getInstance().setCaptureConsole(true);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Setters and getters.
+	//======================================================================================
+
+	/**
+	 * @return the defaultNumberOfColours
+	 */
+	public static int getDefaultNumberOfColours()
+	{
+		return defaultNumberOfColours;
+	}
+
+	/**
+	 * @param defaultNumberOfColours
+	 *            the defaultNumberOfColours to set
+	 */
+	public static void setDefaultNumberOfColours(final int defaultNumberOfColours)
+	{
+		Log.defaultNumberOfColours = defaultNumberOfColours;
+	}
+
+	/**
+	 * @return the defaultColouringSeparator
+	 */
+	public static String getDefaultColouringSeparator()
+	{
+		return defaultColouringSeparator;
+	}
+
+	/**
+	 * @param defaultColouringSeparator
+	 *            the defaultColouringSeparator to set
+	 */
+	public static void setDefaultColouringSeparator(final String defaultColouringSeparator)
+	{
+		Log.defaultColouringSeparator = defaultColouringSeparator;
+	}
+
+	/**
+	 * @return the overflow policy
+	 */
+	public static OverflowPolicy getOverflowPolicy()
+	{
+		return getInstance().getOverflowPolicy();
+	}
+
+	/**
+	 * Sets what to do with entries posted when the log can't keep up. Default is {@link OverflowPolicy#DROP_NEWEST}.
+	 *
+	 * @param overflowPolicy
+	 *            the overflowPolicy to set
+	 */
+	public static void setOverflowPolicy(final OverflowPolicy overflowPolicy)
+	{
+		getInstance().setOverflowPolicy(overflowPolicy);
+	}
+
+	/**
+	 * @return the sample rate
+	 */
+	public static int getSampleRate()
+	{
+		return getInstance().getSampleRate();
+	}
+
+	/**
+	 * Sets the rate used by {@link OverflowPolicy#SAMPLE}; one in every 'sampleRate' entries is kept.
+	 *
+	 * @param sampleRate
+	 *            the sampleRate to set
+	 */
+	public static void setSampleRate(final int sampleRate)
+	{
+		getInstance().setSampleRate(sampleRate);
+	}
+
+	/**
+	 * @return the time precision
+	 */
+	public static TimePrecision getTimePrecision()
+	{
+		return getInstance().getTimePrecision();
+	}
+
+	/**
+	 * Sets how precise the time at the start of each entry is. Default is {@link TimePrecision#SECONDS}.
+	 *
+	 * @param timePrecision
+	 *            the timePrecision to set
+	 */
+	public static void setTimePrecision(final TimePrecision timePrecision)
+	{
+		getInstance().setTimePrecision(timePrecision);
+	}
+
+	/**
+	 * @return the time zone
+	 */
+	public static TimeZone getTimeZone()
+	{
+		return getInstance().getTimeZone();
+	}
+
+	/**
+	 * Sets the time zone of the time at the start of each entry. Default is the system's.
+	 *
+	 * @param timeZone
+	 *            the timeZone to set
+	 */
+	public static void setTimeZone(final TimeZone timeZone)
+	{
+		getInstance().setTimeZone(timeZone);
+	}
+
+	/**
+	 * @return the size in bytes a log file reaches before a new one is started, or 0 if not rolling by size
+	 */
+	public static long getRollSize()
+	{
+		return getInstance().getRollSize();
+	}
+
+	/**
+	 * Sets the size a log file reaches before a new one is started; the full one is closed, and compressed in the
+	 * background. Default is 0, which doesn't roll by size.
+	 *
+	 * @param rollSize
+	 *            the size in bytes
+	 */
+	public static void setRollSize(final long rollSize)
+	{
+		getInstance().setRollSize(rollSize);
+	}
+
+	/**
+	 * @return the number of entries a log file takes before a new one is started, or 0 if not rolling by entries
+	 */
+	public static long getRollEntries()
+	{
+		return getInstance().getRollEntries();
+	}
+
+	/**
+	 * Sets the number of entries a log file takes before a new one is started; the full one is closed, and compressed
+	 * in the background. Default is 0, which doesn't roll by number of entries.
+	 *
+	 * @param rollEntries
+	 *            the number of entries
+	 */
+	public static void setRollEntries(final long rollEntries)
+	{
+		getInstance().setRollEntries(rollEntries);
+	}
+
+	/**
+	 * @return when a new log file is started, regardless of size
+	 */
+	public static RollTime getRollTime()
+	{
+		return getInstance().getRollTime();
+	}
+
+	/**
+	 * Sets when a new log file is started, regardless of size; the old one is closed, and compressed in the background.
+	 * Default is {@link RollTime#NEVER}.
+	 *
+	 * @param rollTime
+	 *            the rollTime to set
+	 */
+	public static void setRollTime(final RollTime rollTime)
+	{
+		getInstance().setRollTime(rollTime);
+	}
+
+	/**
+	 * @return the durability policy
+	 */
+	public static DurabilityPolicy getDurabilityPolicy()
+	{
+		return getInstance().getDurabilityPolicy();
+	}
+
+	/**
+	 * Sets when the log files are forced to the disk. Default is {@link DurabilityPolicy#PERIODIC}.
+	 *
+	 * @param durabilityPolicy
+	 *            the durabilityPolicy to set
+	 */
+	public static void setDurabilityPolicy(final DurabilityPolicy durabilityPolicy)
+	{
+		getInstance().setDurabilityPolicy(durabilityPolicy);
+	}
+
+	/**
+	 * @return the flush interval in milliseconds
+	 */
+	public static long getFlushInterval()
+	{
+		return getInstance().getFlushInterval();
+	}
+
+	/**
+	 * Sets how often the log files are forced to the disk by {@link DurabilityPolicy#PERIODIC}, which is the most
+	 * an entry stays only in memory (give or take writing it). Default is 5 seconds.
+	 *
+	 * @param flushInterval
+	 *            the flush interval in milliseconds; at least 1
+	 */
+	public static void setFlushInterval(final long flushInterval)
+	{
+		getInstance().setFlushInterval(flushInterval);
+	}
+
+	/**
+	 * @return the shutdown timeout in milliseconds
+	 */
+	public static long getShutdownTimeout()
+	{
+		return getInstance().getShutdownTimeout();
+	}
+
+	/**
+	 * Sets the most time to spend at shutdown writing the entries still waiting, and closing the log files;
+	 * shutdown takes only as long as that needs, within this. Default is 5 seconds.
+	 *
+	 * @param shutdownTimeout
+	 *            the shutdown timeout in milliseconds
+	 */
+	public static void setShutdownTimeout(final long shutdownTimeout)
+	{
+		getInstance().setShutdownTimeout(shutdownTimeout);
+	}
+
+	/**
+	 * Stops taking entries, and writes the ones still waiting to the log files, then closes them; see
+	 * {@link Logger#shutdown()}. Called on exit anyway; call it to close the log earlier.
+	 */
+	public static void shutdown()
+	{
+		getInstance().shutdown();
+	}
+
+	/**
+	 * @return whether the log files are compressed while writing them
+	 */
+	public static boolean isCompressedWriting()
+	{
+		return getInstance().isCompressedWriting();
+	}
+
+	/**
+	 * Sets whether to compress the log files while writing them, as GZIP ('.log.gz' and '.html.gz'), instead of zipping
+	 * them when they're closed; so nothing is left to compress at shutdown, or roll over. The files can be read while
+	 * they're written, up to the last few KB. Takes precedence over {@link #setMemoryMapped(boolean)}.
+	 * Only applies to log files created after it's set, so set it before initialising the log. Default is false.
+	 *
+	 * @param compressedWriting
+	 *            the compressedWriting to set
+	 */
+	public static void setCompressedWriting(final boolean compressedWriting)
+	{
+		getInstance().setCompressedWriting(compressedWriting);
+	}
+
+	/**
+	 * @return whether the log is also written in the compact binary format
+	 */
+	public static boolean isBinaryWriting()
+	{
+		return getInstance().isBinaryWriting();
+	}
+
+	/**
+	 * Sets whether to also write the log in a compact binary format ('.bin'), which keeps entries as posted; read it
+	 * using {@link BinaryLogReader}, which converts it to text, or HTML, on demand.
+	 * Set it before initialising the log. Default is false.
+	 *
+	 * @param binaryWriting
+	 *            the binaryWriting to set
+	 */
+	public static void setBinaryWriting(final boolean binaryWriting)
+	{
+		getInstance().setBinaryWriting(binaryWriting);
+	}
+
+	/**
+	 * @return whether entries are kept in a journal until they're written
+	 */
+	public static boolean isJournaling()
+	{
+		return getInstance().isJournaling();
+	}
+
+	/**
+	 * Sets whether to keep each entry in a journal ('journal.wal', memory mapped) from the moment it's posted until it's
+	 * written to the text log file. If the process is killed before then, the entries still waiting are posted again,
+	 * with their original times, at the start of the next session, before anything new.<br />
+	 * Posting copies the entry into the mapping, without locking; nothing waits for the disk. Compressed files
+	 * ({@link #setCompressedWriting(boolean)}) only count as written once the compressor has passed them to the file,
+	 * which it does as it fills its buffer, or when forced.<br />
+	 * The journal is locked while in use; if another process logging to the same folder holds it, this session runs
+	 * without one.
+	 * Set it before initialising the log. Default is false.
+	 *
+	 * @param journaling
+	 *            the journaling to set
+	 */
+	public static void setJournaling(final boolean journaling)
+	{
+		getInstance().setJournaling(journaling);
+	}
+
+	/**
+	 * @return whether the HTML log file is written as entries come
+	 */
+	public static boolean isHtmlWriting()
+	{
+		return getInstance().isHtmlWriting();
+	}
+
+	/**
+	 * Sets whether to write the HTML log file ('.html') as entries come, which renders every entry twice.<br />
+	 * If not, only the text log, and the binary log (which keeps the styles), are written; turning this off turns
+	 * {@link #setBinaryWriting(boolean)} on. HTML is then formed from the binary log only when it's asked for:
+	 * by 'Save as HTML' in the window, {@link #exportHTML(Path, ExportRange, IExportListener)}, or
+	 * {@link BinaryLogReader#toHTML(Path, Path)} for an archive of the log files.
+	 * Set it before initialising the log. Default is true.
+	 *
+	 * @param htmlWriting
+	 *            the htmlWriting to set
+	 */
+	public static void setHtmlWriting(final boolean htmlWriting)
+	{
+		getInstance().setHtmlWriting(htmlWriting);
+	}
+
+	/**
+	 * @return the deflate level of the compressed log files
+	 */
+	public static int getCompressionLevel()
+	{
+		return getInstance().getCompressionLevel();
+	}
+
+	/**
+	 * Sets how hard to compress the log files, whether zipped when they're closed, or compressed while writing them:
+	 * from 0 (stored as is) to 9 (smallest, and slowest), or -1 for the default (6).
+	 * Zipping is spread over all cores, at low priority.
+	 *
+	 * @param compressionLevel
+	 *            the deflate level; see {@link java.util.zip.Deflater}
+	 */
+	public static void setCompressionLevel(final int compressionLevel)
+	{
+		getInstance().setCompressionLevel(compressionLevel);
+	}
+
+	/**
+	 * @return whether the log is written to the files only, with no window
+	 */
+	public static boolean isHeadless()
+	{
+		return getInstance().isHeadless();
+	}
+
+	/**
+	 * Sets whether to write the log to the files only, with no window; nothing of Swing, or AWT, is loaded then.
+	 * Must be set before initialising the log. On by default if 'java.awt.headless' is set.
+	 *
+	 * @param headless
+	 *            true for no window
+	 */
+	public static void setHeadless(final boolean headless)
+	{
+		getInstance().setHeadless(headless);
+	}
+
+	/**
+	 * @return whether the log files are written by memory mapping them
+	 */
+	public static boolean isMemoryMapped()
+	{
+		return getInstance().isMemoryMapped();
+	}
+
+	/**
+	 * Sets whether to write the log files by memory mapping them, which makes writing as fast as copying memory,
+	 * and keeps what's written even if the JVM crashes. Only applies to log files created after it's set,
+	 * so set it before initialising the log. Default is false.
+	 *
+	 * @param memoryMapped
+	 *            the memoryMapped to set
+	 */
+	public static void setMemoryMapped(final boolean memoryMapped)
+	{
+		getInstance().setMemoryMapped(memoryMapped);
+	}
+
+	/**
+	 * Exports a range of the entries in the current log file to a text file, in the background; logging goes on
+	 * meanwhile. The part of the log file is copied as is, by the file system where possible.<br />
+	 * Once the log has rolled over ({@link #setRollSize(long)}, {@link #setRollEntries(long)},
+	 * {@link #setRollTime(RollTime)}), that's only the file started at the last roll-over; the files rolled over before
+	 * are left as they are, compressed in the logs folder, and aren't exported.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Entries to export; e.g. {@link ExportRange#ALL}.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done; 'get()' throws what went wrong, if anything
+	 */
+	public static Future<Path> exportText(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return getInstance().exportText(target, range, listener);
+	}
+
+	/**
+	 * Exports a range of the entries in the current log file to an HTML file, with their styles, in the background;
+	 * see {@link #exportText(Path, ExportRange, IExportListener)}. As there, only the file started at the last roll-over,
+	 * if any, is exported.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Entries to export; e.g. {@link ExportRange#ALL}.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done; 'get()' throws what went wrong, if anything
+	 */
+	public static Future<Path> exportHTML(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return getInstance().exportHTML(target, range, listener);
+	}
+
+	/**
+	 * @return the counters of what the log had to drop, spill, ... etc.
+	 */
+	public static Metrics getMetrics()
+	{
+		return getInstance().getMetrics();
+	}
+
+	//======================================================================================
+	// #endregion Setters and getters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+
+	/**
+	 * Gets this thread's {@link StringBuilder}, emptied, to build a string without creating a new builder each time.
+	 * Append to it directly, using the typed 'append' methods, then call 'toString()'.<br />
+	 * Make sure nothing called while building uses it as well, or the string so far is lost; work out such parts first.
+	 *
+	 * @return the builder
+	 */
+	static StringBuilder builder()
+	{
+		StringBuilder builder = builders.get();
+
+		if (builder.capacity() > MAX_BUILDER)
+		{
+			builder = new StringBuilder(512);
+			builders.set(builder);
+		}
+
+		builder.setLength(0);
+
+		return builder;
+	}
+
+	/**
+	 * Gets the instance.
+	 *
+	 * @return the instance
+	 */
+	public static Logger getInstance()
+	{
+		synchronized (Logger.class)
+		{
+			if (instance == null)
+			{
+				instance = new Logger();
+			}
+
+			return instance;
+		}
+	}
+
+	private Log()
+	{}
+
+}
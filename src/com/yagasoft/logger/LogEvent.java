@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/LogEvent.java
+ *
+ *			Modified: 17-Oct-2026 (20:43:52)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import com.yagasoft.logger.Logger.EntryType;
+
+
+/**
+ * An entry of the log, as passed to an {@link ISink}. Immutable.
+ */
+public final class LogEvent
+{
+
+	private final long		time;
+	private final EntryType	type;
+	private final String	message;
+
+	LogEvent(final long time, final EntryType type, final String message)
+	{
+		this.time = time;
+		this.type = type;
+		this.message = message;
+	}
+
+	/**
+	 * @return when the entry was posted, in microseconds since the epoch
+	 */
+	public long getTime()
+	{
+		return time;
+	}
+
+	/**
+	 * @return the kind of entry
+	 */
+	public EntryType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * @return the text of the entry, without the time stamp, as it's written to the text log file
+	 */
+	public String getMessage()
+	{
+		return message;
+	}
+
+	@Override
+	public String toString()
+	{
+		return message;
+	}
+
+}
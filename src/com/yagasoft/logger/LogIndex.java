@@ -0,0 +1,456 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/LogIndex.java
+ *
+ *			Modified: 17-Oct-2026 (23:04:12)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * A sparse index of a text log file: where an entry starts about every {@link #INTERVAL} bytes, with its number in
+ * the file, and when it was posted. It's kept next to the log file ('.idx'), written as the log is.<br />
+ * To find a time, or an entry, seek to the point found here, then read on; at most an interval of the log is read.
+ * Offsets are in the log as written, before compression, if any.<br />
+ * <br />
+ * <pre>
+ * file:  'YIDX', version (byte), interval (int), then points
+ * point: entry number (long), time in microseconds since the epoch (long), offset (long), CRC-32C of those (int)
+ * </pre>
+ * A point that fails its check, or is cut short, ends the index, and {@link #open(Path)} rebuilds it from the log; as
+ * it does if the index is behind the log, or ahead of it.
+ */
+public final class LogIndex
+{
+
+	/** Bytes of the log between points, about. */
+	public static final int		INTERVAL	= 64 * 1024;
+
+	private static final byte[]	MAGIC		= { 'Y', 'I', 'D', 'X' };
+	private static final byte	VERSION		= 1;
+	private static final int	HEAD		= MAGIC.length + 1 + 4;
+	private static final int	POINT		= (8 * 3) + 4;
+
+	private long[]				entries		= new long[64];
+	private long[]				times		= new long[64];
+	private long[]				offsets		= new long[64];
+	private int					count;
+
+	/* a point failed its check, or was cut short, when loaded. */
+	private boolean				broken;
+
+	private LogIndex()
+	{}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Opening.
+	//======================================================================================
+
+	/**
+	 * Loads the index of the log file, rebuilding it from the log if it's missing, corrupt, or behind, or ahead of, the
+	 * log. A compressed log is read through to find its length.
+	 *
+	 * @param log
+	 *            Text log file ('.log', or '.log.gz').
+	 * @return the index
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static LogIndex open(final Path log) throws IOException
+	{
+		final LogIndex index = load(getIndexFile(log));
+
+		if ((index == null) || index.broken)
+		{
+			return rebuild(log);
+		}
+
+		final long length = getLength(log);
+
+		if (index.count == 0)
+		{
+			return (length < INTERVAL) ? index : rebuild(log);
+		}
+
+		final long last = index.offsets[index.count - 1];
+
+		// complete, unless the log ends before the last point, or goes on for more than an interval or so after it.
+		return ((last < length) && ((length - last) <= (INTERVAL * 2L))) ? index : rebuild(log);
+	}
+
+	/**
+	 * Rebuilds the index of the log file by reading it through, and saves it next to it.
+	 * Entries are found by the time stamp they start with, in the current format and time zone of the log; so times
+	 * are only as precise as the stamps.
+	 *
+	 * @param log
+	 *            Text log file ('.log', or '.log.gz').
+	 * @return the index
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	public static LogIndex rebuild(final Path log) throws IOException
+	{
+		final LogIndex index = new LogIndex();
+		final TimeStampFormatter formatter = new TimeStampFormatter(Log.getInstance());
+		try (InputStream input = openLog(log); Writer writer = new Writer(getIndexFile(log)))
+		{
+			// only the start of each line is needed to find the time stamp.
+			final byte[] head = new byte[64];
+			int headLength = 0;
+			long lineStart = 0;
+			long offset = 0;
+			long entry = 0;
+			long lastPoint = -INTERVAL;
+
+			try
+			{
+				for (int value = input.read(); value >= 0; value = input.read())
+				{
+					offset++;
+
+					if (value != '\n')
+					{
+						if (headLength < head.length)
+						{
+							head[headLength++] = (byte) value;
+						}
+
+						continue;
+					}
+
+					final long time = formatter.parse(new String(head, 0, headLength, StandardCharsets.UTF_8));
+
+					if (time != TimeStampFormatter.NOT_TIME_STAMP)
+					{
+						if ((lineStart - lastPoint) >= INTERVAL)
+						{
+							index.add(entry, time, lineStart);
+							lastPoint = lineStart;
+						}
+
+						writer.add(entry, time, lineStart);
+
+						entry++;
+					}
+
+					headLength = 0;
+					lineStart = offset;
+				}
+			}
+			catch (final EOFException e)
+			{	// a compressed log still being written, or cut short; indexed as far as it can be read.
+			}
+		}
+
+		return index;
+	}
+
+	/* the index in the file, or null if it's missing, or not an index; broken if a point fails, or is cut short. */
+	private static LogIndex load(final Path indexFile) throws IOException
+	{
+		if (Files.notExists(indexFile))
+		{
+			return null;
+		}
+
+		final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+
+		if ((bytes.remaining() < HEAD) || !Arrays.equals(Arrays.copyOf(bytes.array(), MAGIC.length), MAGIC)
+				|| (bytes.get(MAGIC.length) != VERSION))
+		{
+			return null;
+		}
+
+		bytes.position(HEAD);
+		final LogIndex index = new LogIndex();
+
+		// a point cut short, or failing its check, ends the index.
+		while (bytes.hasRemaining())
+		{
+			if (bytes.remaining() < POINT)
+			{
+				index.broken = true;
+				break;
+			}
+
+			final int start = bytes.position();
+			final long entry = bytes.getLong();
+			final long time = bytes.getLong();
+			final long offset = bytes.getLong();
+
+			if ((Crc32c.compute(bytes.array(), start, POINT - 4) != bytes.getInt())
+					|| ((index.count > 0) && (offset <= index.offsets[index.count - 1])))
+			{
+				index.broken = true;
+				break;
+			}
+
+			index.add(entry, time, offset);
+		}
+
+		return index;
+	}
+
+	/* the length of the log as written, before compression; a compressed log cut short ends where it can be read to. */
+	private static long getLength(final Path log) throws IOException
+	{
+		if ( !log.toString().endsWith(".gz"))
+		{
+			return Files.size(log);
+		}
+
+		long length = 0;
+
+		try (InputStream input = openLog(log))
+		{
+			for (long skipped = input.skip(INTERVAL); skipped > 0; skipped = input.skip(INTERVAL))
+			{
+				length += skipped;
+			}
+		}
+		catch (final EOFException e)
+		{	// still being written, or cut short.
+		}
+
+		return length;
+	}
+
+	private static InputStream openLog(final Path log) throws IOException
+	{
+		final InputStream input = Files.newInputStream(log);
+		return new BufferedInputStream(log.toString().endsWith(".gz") ? new GZIPInputStream(input, 64 * 1024) : input
+				, 64 * 1024);
+	}
+
+	/**
+	 * @param log
+	 *            Text log file.
+	 * @return the index file of the log
+	 */
+	public static Path getIndexFile(final Path log)
+	{
+		return Paths.get(log.toString() + ".idx");
+	}
+
+	private void add(final long entry, final long time, final long offset)
+	{
+		if (count == offsets.length)
+		{
+			entries = Arrays.copyOf(entries, count * 2);
+			times = Arrays.copyOf(times, count * 2);
+			offsets = Arrays.copyOf(offsets, count * 2);
+		}
+
+		entries[count] = entry;
+		times[count] = time;
+		offsets[count] = offset;
+		count++;
+	}
+
+	//======================================================================================
+	// #endregion Opening.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Seeking.
+	//======================================================================================
+
+	/**
+	 * Finds where to start reading the log to find the first entry posted at, or after, the time.
+	 *
+	 * @param time
+	 *            Time in microseconds since the epoch.
+	 * @return the offset of the last point before the time, or 0; the entry is at most an interval or so after it
+	 */
+	public long seekTime(final long time)
+	{
+		// the first point at, or after, the time; the entry might be just before it.
+		int low = 0;
+		int high = count;
+
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+
+			if (times[middle] < time)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return (low == 0) ? 0 : offsets[low - 1];
+	}
+
+	/**
+	 * Finds where to start reading the log to find the entry with this number.
+	 *
+	 * @param entry
+	 *            Entry number in the file, from 0.
+	 * @return the offset of the last point at, or before, the entry, or 0
+	 */
+	public long seekEntry(final long entry)
+	{
+		int low = 0;
+		int high = count;
+
+		while (low < high)
+		{
+			final int middle = (low + high) >>> 1;
+
+			if (entries[middle] <= entry)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+
+		return (low == 0) ? 0 : offsets[low - 1];
+	}
+
+	/**
+	 * @return the number of points
+	 */
+	public int size()
+	{
+		return count;
+	}
+
+	/**
+	 * @param point
+	 *            Point number.
+	 * @return the number, in the file, of the entry at the point
+	 */
+	public long getEntry(final int point)
+	{
+		return entries[point];
+	}
+
+	/**
+	 * @param point
+	 *            Point number.
+	 * @return when the entry at the point was posted, in microseconds since the epoch
+	 */
+	public long getTime(final int point)
+	{
+		return times[point];
+	}
+
+	/**
+	 * @param point
+	 *            Point number.
+	 * @return where the entry at the point starts in the log
+	 */
+	public long getOffset(final int point)
+	{
+		return offsets[point];
+	}
+
+	//======================================================================================
+	// #endregion Seeking.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Writes the index of a log file as the log is written; see {@link EntryIndex#setWriter(LogIndex.Writer)}.
+	 * Used by the writer thread of {@link File} only.
+	 */
+	static final class Writer implements AutoCloseable
+	{
+
+		private final FileChannel	channel;
+		private final ByteBuffer	point		= ByteBuffer.allocate(POINT);
+
+		/* where the last point is in the log, so the next is at least an interval after it. */
+		private long				lastPoint	= -INTERVAL;
+
+		/**
+		 * Creates the index file, and writes its head.
+		 *
+		 * @param indexFile
+		 *            Index file; replaced if it exists.
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		Writer(final Path indexFile) throws IOException
+		{
+			channel = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+					, StandardOpenOption.TRUNCATE_EXISTING);
+
+			final ByteBuffer head = ByteBuffer.allocate(HEAD).put(MAGIC).put(VERSION).putInt(INTERVAL);
+			head.flip();
+			writeFully(head);
+		}
+
+		/**
+		 * Adds an entry, which becomes a point if it's an interval or more after the last one.
+		 *
+		 * @param entry
+		 *            Entry number in the file.
+		 * @param time
+		 *            When it was posted, in microseconds since the epoch.
+		 * @param offset
+		 *            Where it starts in the log.
+		 * @throws IOException
+		 *             Signals that an I/O exception has occurred.
+		 */
+		void add(final long entry, final long time, final long offset) throws IOException
+		{
+			if ((offset - lastPoint) < INTERVAL)
+			{
+				return;
+			}
+
+			lastPoint = offset;
+
+			point.clear();
+			point.putLong(entry).putLong(time).putLong(offset);
+			point.putInt(Crc32c.compute(point.array(), 0, POINT - 4));
+			point.flip();
+			writeFully(point);
+		}
+
+		private void writeFully(final ByteBuffer bytes) throws IOException
+		{
+			while (bytes.hasRemaining())
+			{
+				channel.write(bytes);
+			}
+		}
+
+		@Override
+		public void close() throws IOException
+		{
+			channel.close();
+		}
+
+	}
+
+}
@@ -1,1142 +1,1602 @@
-/*
- * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
- *
- *		The Modified MIT Licence (GPL v3 compatible)
- * 			Licence terms are in a separate file (LICENCE.md)
- *
- *		Project/File: Logger/com.yagasoft.logger/Logger.java
- *
- *			Modified: 28-Jul-2014 (14:51:14)
- *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
- */
-
-package com.yagasoft.logger;
-
-
-import static com.yagasoft.logger.Log.SequenceOption.BLACK_LAST_STRING;
-import static com.yagasoft.logger.Log.SequenceOption.COLOUR_LAST_STRING;
-import static com.yagasoft.logger.Log.SequenceOption.REMOVE_SEPARATOR;
-import static com.yagasoft.logger.PrintStreamCapturer.CaptureType.ERROR;
-import static com.yagasoft.logger.PrintStreamCapturer.CaptureType.OUT;
-
-import java.awt.Color;
-import java.awt.Font;
-import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.PrintStream;
-import java.io.PrintWriter;
-import java.io.Writer;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
-
-import javax.swing.JFileChooser;
-import javax.swing.JTextPane;
-import javax.swing.text.AttributeSet;
-import javax.swing.text.BadLocationException;
-import javax.swing.text.MutableAttributeSet;
-import javax.swing.text.StyleConstants;
-import javax.swing.text.html.HTMLEditorKit;
-
-import com.yagasoft.logger.Log.SequenceOption;
-import com.yagasoft.logger.menu.panels.option.Options;
-
-
-/**
- * This class contains methods to log entries, display them in a stylised form, and save them to disk in a log file.<br />
- * <br />
- * Everything is initialised automatically when calling the first post or error or exception. (everything is static)<br/>
- * To show the window call {@link GUI#showLogger()}, which does initialise the log as above if it was the first thing called.<br />
- * <br/>
- * <strong>Defaults:</strong> read 'README.md'.
- */
-public class Logger
-{
-
-	// please, don't change the order of the fields.
-
-	/** set when the log is accessible and ready. */
-	private boolean								initialised				= false;
-
-	private LinkedBlockingQueue<String>			historyTextQueue		= new LinkedBlockingQueue<String>(100);
-	private LinkedBlockingQueue<AttributeSet>	historyAttributeQueue	= new LinkedBlockingQueue<AttributeSet>(100);
-
-	private JTextPane							conversionPane			= new JTextPane();
-
-	private enum EntryType
-	{
-		INFO,
-		ERROR,
-		EXCEPTION
-	}
-
-	/* Default number of colours. */
-	private int				defaultNumberOfColours;
-
-	/* Default coloured strings separator for {@link #infoColoured(String...)}. */
-	private String			defaultColouringSeparator;
-
-	/* Default black last string flag for {@link #infoColouredSeparator(String, String...)}. */
-	private boolean			defaultBlackLastString;
-
-	private final StringBuffer stringBuffer = new StringBuffer(512);
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Style.
-	//======================================================================================
-
-	private final String	font		= "Verdana";
-
-	//--------------------------------------------------------------------------------------
-	// #region Colours.
-
-	// a bit lighter than the one from the Color class.
-	private final Color		BLUE		= new Color(35, 40, 210);
-
-	private final Color		ORANGE		= new Color(150, 80, 0);
-	private final Color		LIGHT_BLUE	= new Color(0, 120, 120);
-
-	// a bit darker than the one from the Color class.
-	private final Color		GREEN		= new Color(0, 140, 0);
-
-	private final Color		VIOLET		= new Color(120, 0, 200);
-	private final Color		RED			= new Color(230, 0, 0);
-
-	// a bit darker than the one from the Color class.
-	private final Color		MAGENTA		= new Color(220, 0, 160);
-
-	private final Color		BLACK		= new Color(0, 0, 0);
-	private final Color		GREY		= new Color(180, 180, 180);
-
-	// colours to cycle through when displaying info with words wrapped in '`'.
-	private Color[]			colours		= { BLUE, ORANGE, LIGHT_BLUE, VIOLET, RED, GREEN, MAGENTA };
-
-	// #endregion Colours.
-	//--------------------------------------------------------------------------------------
-
-	/* style passed to getStyle method. */
-	private enum Style
-	{
-		PLAIN,
-		BOLD,
-		//		ITALIC,
-		BOLDITALIC
-	}
-
-	private AttributeSet				tempStyle;
-	private MutableAttributeSet			htmlAttributes;
-
-	/** Attribute pool. */
-	public Map<String, AttributeSet>	attrPool	= new HashMap<String, AttributeSet>(
-															Style.values().length * 16 * (colours.length + 2));
-	/** Style pool for HTML log file CSS. */
-	public Map<AttributeSet, String>	stylePool	= new HashMap<AttributeSet, String>(
-															Style.values().length * 16 * (colours.length + 2));
-
-	//======================================================================================
-	// #endregion Style.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	private GUI							gui;
-	private File						file;
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Initialisation.
-	//======================================================================================
-
-	/**
-	 * Initialises the logger by loading the options, initialising the log file, and the GUI.
-	 *
-	 * @param defaultSeparator
-	 *            Default separator to use for {@link #infoColoured(String...)}
-	 * @param defaultNumberOfColours
-	 *            Default number of colours to use for {@link #info(String, int...)}
-	 * @param defaultBlackLastString
-	 *            Default black last string to use for {@link #infoColouredSeparator(int, boolean, String, String...)}
-	 */
-	void initLogger(final String defaultSeparator, final int defaultNumberOfColours, final boolean defaultBlackLastString)
-	{
-		// set defaults
-		defaultColouringSeparator = defaultSeparator;
-		this.defaultNumberOfColours = defaultNumberOfColours;
-		this.defaultBlackLastString = defaultBlackLastString;
-
-		// initialise logger if it wasn't.
-		if ( !initialised)
-		{
-			// make sure to flush all log text, and save options before exiting.
-			Runtime.getRuntime().addShutdownHook(new Thread(() ->
-			{
-				try
-				{
-					new Thread(() -> File.getInstance().shutdown()).start();
-					new Thread(() -> Options.getInstance().saveOptions()).start();
-					Thread.sleep(5000);
-
-					// compress and delete logs, and close all streams
-					File.getInstance().finalise();
-
-					while ( !File.getInstance().isFinished())
-					{
-						Thread.sleep(2000);
-					}
-				}
-				catch (final Exception e)
-				{
-					e.printStackTrace();
-				}
-			}));
-
-			Options.getInstance().loadOptions();
-			gui = GUI.getInstance();
-			file = File.getInstance();
-			initStyles();
-
-			// HTML history file thread.
-			new Thread(() ->
-			{
-				String text;
-				AttributeSet attributes;
-
-				while (true)
-				{
-					try
-					{
-						text = historyTextQueue.take();
-						attributes = historyAttributeQueue.take();
-						file.writeToHTML(getHTML(text, attributes));
-					}
-					catch (final Exception e)
-					{
-						e.printStackTrace();
-					}
-				}
-			}).start();
-
-			// used to convert text to HTML
-			conversionPane.setEditorKit(new HTMLEditorKit());
-			htmlAttributes = conversionPane.getInputAttributes();
-
-			initialised = true;
-
-			// post something and create a log file for this session.
-			info("!!! `NEW LOG` !!!");
-		}
-	}
-
-	// saves all variants of attributes in a map to save memory and time
-	// forms CSS for all those attributes and saves them in the head of the HTML file to save space
-	private void initStyles()
-	{
-		file.writeToHTML("<head><style>");
-
-		for (final Style style : Style.values())
-		{
-			for (int i = 10; i < 26; i++)
-			{
-				// add black variants
-				saveStyle(i, style, BLACK);
-
-				// add grey variants
-				saveStyle(i, style, GREY);
-
-				// go through all the other colour variants ...
-				for (final Color colour : colours)
-				{
-					saveStyle(i, style, colour);
-				}
-			}
-		}
-
-		file.writeToHTML("</style></head>");
-	}
-
-	// save style to collections and write to file
-	private void saveStyle(final int i, final Style style, final Color colour)
-	{
-		String tempString;
-
-		// form the style attributes and add it to the pool
-		tempStyle = getStyle(i, style, colour);
-		attrPool.putIfAbsent(Log.buildString(i, style, colour), tempStyle);
-
-		// form the class name for the css and it to the pool
-		tempString = Log.buildString("s"
-				, tempStyle.getAttribute(StyleConstants.FontSize)
-				, tempStyle.getAttribute(StyleConstants.Bold)
-				, tempStyle.getAttribute(StyleConstants.Italic)
-				, colour.getRGB());
-		stylePool.putIfAbsent(tempStyle, tempString);
-
-		// form the css itself and add it to the file
-		tempString = Log.buildString("."
-				, tempString
-				, " {font-family:Verdana;"
-				, "font-size:", i, ";"
-				, "font-weight:", ((boolean) tempStyle.getAttribute(StyleConstants.Bold) ? "bold" : "normal"), ";"
-				, "font-style:", ((boolean) tempStyle.getAttribute(StyleConstants.Italic) ? "italic" : "normal"), ";"
-				, "color:rgb(", colour.getRed(), ",", colour.getGreen(), ",", colour.getBlue(), ");} ");
-		file.writeToHTML(tempString);
-	}
-
-	//======================================================================================
-	// #endregion Initialisation.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	// //////////////////////////////////////////////////////////////////////////////////////
-	// #region Posting.
-	// ======================================================================================
-
-	//--------------------------------------------------------------------------------------
-	// #region Info posting.
-
-	void info(final String entry, final int... coloursToUse)
-	{
-		postTimeStamp(Options.getInstance().isShowOnlyErrors());
-
-		// line label
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, GREEN));
-		gui.append("Info: ", tempStyle, Options.getInstance().isShowOnlyErrors());
-
-		// append the entries on new lines using number of colours passed.
-		postEntry(entry, coloursToUse);
-	}
-
-	void info(final int coloursToUse, final String... entries)
-	{
-		postTimeStamp(Options.getInstance().isShowOnlyErrors());
-
-		// entry label.
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, GREEN));
-		gui.append("Info ...\n", tempStyle, Options.getInstance().isShowOnlyErrors());
-
-		// append the entry using number of colours passed.
-		for (final String entry : entries)
-		{
-			postEntry(entry, coloursToUse);
-		}
-	}
-
-	// this method is the common process of posting entries for the two methods above.
-	private synchronized void postEntry(final String entry, final int... coloursToUse)
-	{
-		// split the entry into sections based on the delimiter '`'
-		final String[] entries = entry.split("`");
-
-		// calculate number of colours to use. If passed, then use, else if -1 or not passed, then use default.
-		int numberOfColours = Arrays.stream(coloursToUse).findFirst().orElse(defaultNumberOfColours);
-		numberOfColours = (numberOfColours == -1) ? colours.length : numberOfColours;
-
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, BLACK));
-
-		// iterate over entry sections
-		for (int i = 0; i < entries.length; i++)
-		{
-			// reset style
-			tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, BLACK));
-
-			// odd entries are the ones needing colour
-			if (((i % 2) == 1) && (numberOfColours > 0))
-			{
-				// post escaped entry using a different colour.
-				tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN
-						, colours[(i / 2) % numberOfColours]));
-			}
-
-			gui.append(entries[i], tempStyle, Options.getInstance().isShowOnlyErrors());
-		}
-
-		gui.append("\n", tempStyle, Options.getInstance().isShowOnlyErrors());
-	}
-
-	void infoColoured(final String... strings)
-	{
-		infoColouredSeparator(defaultColouringSeparator, strings);
-	}
-
-	void infoColoured(final int coloursToUse, final boolean blackLastString, final String... strings)
-	{
-		infoColouredSeparator(coloursToUse, blackLastString, defaultColouringSeparator, strings);
-	}
-
-	void infoColouredSeparator(final String separator, final String... strings)
-	{
-		infoColouredSeparator(defaultNumberOfColours, defaultBlackLastString, separator, strings);
-	}
-
-	void infoColouredSeparator(final int coloursToUse, final boolean blackLastString
-			, final String separator, final String... strings)
-	{
-		if (strings.length == 0)
-		{
-			return;
-		}
-
-		stringBuffer.setLength(0);
-
-		// form the entry
-		// add the first string using the colouring symbol
-		stringBuffer.append("`").append(strings[0]).append("`").append(((strings.length > 1) ? separator : ""));
-
-		// add the rest if there are any, except last string
-		for (int i = 1; (i < (strings.length - 1)) && (strings.length > 2); i++)
-		{
-			stringBuffer.append("`").append(strings[i]).append("`").append(separator);
-		}
-
-		// end with the last string, and if 'black' is specified, then don't wrap it in '`'.
-		if (strings.length > 1)
-		{
-			stringBuffer.append(blackLastString ? "" : "`").append(strings[strings.length - 1]).append(blackLastString ? "" : "`");
-		}
-
-		info(stringBuffer.toString(), coloursToUse);
-	}
-
-	void infoColouredSequence(final String separator, final String string, final SequenceOption... options)
-	{
-		infoColouredSequence(defaultNumberOfColours, separator, string, options);
-	}
-
-	void infoColouredSequence(final int coloursToUse, final String separator, final String string
-			, final SequenceOption... optionsList)
-	{
-		final List<SequenceOption> options = Arrays.asList(optionsList);
-		infoColouredSeparator(coloursToUse
-				, options.contains(BLACK_LAST_STRING)
-						? true : (options.contains(COLOUR_LAST_STRING) ? false : defaultBlackLastString)
-				, options.contains(REMOVE_SEPARATOR) ? "" : separator, string.split(separator));
-	}
-
-	// #endregion Info posting.
-	//--------------------------------------------------------------------------------------
-
-	void error(final String entry)
-	{
-		postTimeStamp(false);
-
-		// append line label
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, RED));
-		gui.append("!! ERROR >> ", tempStyle);
-
-		// append the error
-		postError(entry);
-	}
-
-	void errors(final String... entries)
-	{
-		postTimeStamp(false);
-
-		// append line label
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, RED));
-		gui.append("!! ERRORS !!\n", tempStyle);
-
-		// append the errors on new lines
-		for (final String entry : entries)
-		{
-			postError(entry);
-		}
-	}
-
-	// this method is the common process of posting entries for the two methods above.
-	private synchronized void postError(final String entry)
-	{
-		// split the entry into sections based on the delimiter '`'
-		final String[] entries = entry.split("`");
-
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, RED));
-
-		// odd entries are the ones needing colour
-		for (int i = 0; i < entries.length; i++)
-		{
-			// reset style
-			tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, RED));
-
-			if ((i % 2) == 1)
-			{
-				// post escaped entry using a different colour.
-				tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, BLACK));
-			}
-
-			// add to log
-			gui.append(entries[i], tempStyle);
-		}
-
-		// add a new line
-		gui.append("\n", tempStyle);
-	}
-
-	void except(final Throwable exception)
-	{
-		postTimeStamp(false);
-
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, RED));
-		gui.append("!! EXCEPTION !!\n", tempStyle);
-
-		// define how to handle the character in the stack trace.
-		final PrintWriter exceptionWriter = new PrintWriter(new Writer()
-		{
-
-			// store lines in the stack trace to print later.
-			List<String>	lines	= new ArrayList<String>();
-
-			@Override
-			public void write(final char[] cbuf, final int off, final int len) throws IOException
-			{
-				lines.add(new String(cbuf, off, len));
-			}
-
-			@Override
-			public void flush() throws IOException
-			{
-				tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, RED));
-
-				for (final String line : lines)
-				{
-					gui.append(line, tempStyle);		// send to the logger.
-				}
-			}
-
-			@Override
-			public void close() throws IOException
-			{}
-		});
-
-		// print the exception.
-		exception.printStackTrace(exceptionWriter);
-		exceptionWriter.flush();
-		exceptionWriter.close();
-
-		gui.append("\r", tempStyle);		// send to the logger.
-	}
-
-	// ======================================================================================
-	// #endregion Public posting interface.
-	// //////////////////////////////////////////////////////////////////////////////////////
-
-	// add to stylised history queue.
-	void addToHistory(final String entry, final AttributeSet style)
-	{
-		try
-		{
-			historyTextQueue.put(entry);
-			historyAttributeQueue.put(style);
-		}
-		catch (final Exception e)
-		{
-			e.printStackTrace();
-		}
-	}
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region System stream capture.
-	//======================================================================================
-
-	/**
-	 * Capture sysout.
-	 */
-	public void captureSysOut()
-	{
-		System.setOut(new PrintStreamCapturer(System.out, OUT));
-		System.setErr(new PrintStreamCapturer(System.err, ERROR));
-	}
-
-	// post using a single colour, and prefix with 'Stream:'. Used by PrintStreamCapturer.
-	void stream(final String text)
-	{
-		postTimeStamp(Options.getInstance().isShowOnlyErrors());
-
-		// line label
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, VIOLET));
-		gui.append("Stream: ", tempStyle, Options.getInstance().isShowOnlyErrors());
-
-		// append the entries on new lines using number of colours passed.
-		postEntry(text, 0);
-	}
-
-	// post using a red colour, and prefix with '!! Stream:'. Used by PrintStreamCapturer.
-	void streamError(final String text)
-	{
-		postTimeStamp(false);
-
-		// append line label
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.BOLDITALIC, RED));
-		gui.append("!! Stream: ", tempStyle);
-
-		// append the entries on new lines using number of colours passed.
-		postError(text);
-	}
-
-	//======================================================================================
-	// #endregion System stream capture.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	// //////////////////////////////////////////////////////////////////////////////////////
-	// #region Text methods.
-	// ======================================================================================
-
-	/* post time stamp to log. */
-	private synchronized void postTimeStamp(final boolean saveOnly)
-	{
-//		postDateIfChanged();
-
-		// post date in light colour because it's repeated too much, so it becomes distracting.
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, GREY));
-		gui.append(getDate() + " ", tempStyle, saveOnly);
-
-		// post time in black.
-		tempStyle = attrPool.get(Log.buildString(Options.getInstance().getFontSize(), Style.PLAIN, BLACK));
-		gui.append(Log.buildString(getTime(), " "), tempStyle, saveOnly);
-	}
-
-	/* create a current date string. */
-	private String getDate()
-	{
-		return new SimpleDateFormat("dd/MMM/yy").format(new Date()) /* DateFormat.getDateInstance().format(new Date()) */;
-	}
-
-	/* Create a current time string. */
-	private String getTime()
-	{
-		return new SimpleDateFormat("hh:mm:ss aa").format(new Date());
-	}
-
-	// convenience method
-	private AttributeSet getStyle(final Style style, final Color... colour)
-	{
-		return getStyle(Options.getInstance().getFontSize(), style, colour);
-	}
-
-	/*
-	 * Forms and returns the style as an {@link AttributeSet} to be used with {@link JTextPane}.
-	 * Pass '0' for size to use the default one. Colour is optional, black is used by default.
-	 *
-	 * Credit: Philip Isenhour (http://javatechniques.com/blog/setting-jtextpane-font-and-color/)
-	 */
-	private AttributeSet getStyle(final int size, final Style style, final Color... colour)
-	{
-		// if nothing is displayed, then no style is needed.
-		if (GUI.getInstance().getTextPane() == null)
-		{
-			return null;
-		}
-
-		// Start with the current input attributes for the JTextPane. This
-		// should ensure that we do not wipe out any existing attributes
-		// (such as alignment or other paragraph attributes) currently
-		// set on the text area.
-		synchronized (GUI.getInstance().getLogAttributesLock())
-		{
-			final MutableAttributeSet attributes = GUI.getInstance().getTextPane().getInputAttributes();
-
-			final Font font = new Font(this.font
-					, ((style == Style.BOLD) ? Font.BOLD : 0)/*
-																+ ((style == Style.ITALIC) ? Font.ITALIC : 0)*/
-							+ ((style == Style.BOLDITALIC) ? Font.ITALIC + Font.BOLD : 0)
-					, (size <= 0) ? Options.getInstance().getFontSize() : size);
-
-			// Set the font family, size, and style, based on properties of
-			// the Font object. Note that JTextPane supports a number of
-			// character attributes beyond those supported by the Font class.
-			// For example, underline, strike-through, super- and sub-script.
-			StyleConstants.setFontFamily(attributes, font.getFamily());
-			StyleConstants.setFontSize(attributes, font.getSize());
-			StyleConstants.setItalic(attributes, (font.getStyle() & Font.ITALIC) != 0);
-			StyleConstants.setBold(attributes, (font.getStyle() & Font.BOLD) != 0);
-
-			// Set the font colour, or black by default.
-			StyleConstants.setForeground(attributes, Arrays.stream(colour).findFirst().orElse(Color.BLACK));
-
-			return attributes.copyAttributes();
-		}
-	}
-
-	// convert text and style to HTML.
-	private String getHTML(final String text, final AttributeSet style)
-	{
-		conversionPane.setText("");
-
-		try
-		{
-			// replace characters that aren't parsed by the HTML panel!!!
-			// add the plain text to an HTML editor to convert the text to HTML.
-			conversionPane.getDocument().insertString(conversionPane.getDocument().getLength()
-					, text.replace("\n", "`new_line`").replace("\t", "`tab`")
-							.replace(" ", "`space`")
-					, null);
-		}
-		catch (final BadLocationException e)
-		{
-			e.printStackTrace();
-			return "";
-		}
-
-		// remove unnecessary tags, and return tags that were replaced above.
-		// get the text back from the editor as HTML.
-		return Log.buildString("<span class=\"", stylePool.get(style), "\">"		// add CSS
-				, conversionPane.getText()
-						.replace("<html>", "").replace("</html>", "").replace("<head>", "")		// remove redundant tags
-						.replace("</head>", "").replace("<body>", "").replace("</body>", "")
-						.replace("`new_line`", "<br />").replace("`tab`", "&#9;").replace("`space`", "&nbsp;")	// return tags
-						.replace("<p style=\"margin-top: 0\">", "").replace("</p>", "").replace("<p>", "")	// remove extra tags
-						// remove new line characters, and spaces outside tags (have no effect on resulting html)
-						.replace("\n", "").replaceAll(" {2,}", "")
-				, "</span>");
-	}
-
-	// ======================================================================================
-	// #endregion Text methods.
-	// //////////////////////////////////////////////////////////////////////////////////////
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Saving.
-	//======================================================================================
-
-	/**
-	 * Save as html.
-	 */
-	public void saveAsHTML()
-	{
-		if ( !initialised)
-		{
-			return;
-		}
-
-		// !comments are in saveAsTxt!
-
-		final Path chosenFolder = chooseFolder();
-
-		if (chosenFolder == null)
-		{
-			return;
-		}
-
-		final Path file = chosenFolder.resolve("log_file_-_" + File.getInstance().getFileStamp() + ".html");
-
-		new Thread(() ->
-		{
-			try
-			{
-				synchronized (historyTextQueue)
-				{
-					File.getInstance().flushStreams();
-					Files.copy(File.getInstance().getHtmlFile(), file);
-
-					try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file, StandardOpenOption.APPEND)))
-					{
-						writer.write("</html></body>");
-					}
-					catch (final IOException e)
-					{
-						e.printStackTrace();
-					}
-				}
-			}
-			catch (final IOException e)
-			{
-				e.printStackTrace();
-			}
-		}).start();
-	}
-
-	/**
-	 * Save as txt.
-	 */
-	public void saveAsTxt()
-	{
-		if ( !initialised)
-		{
-			return;
-		}
-
-		// ask the user for folder to save to.
-		final Path chosenFolder = chooseFolder();
-
-		// if nothing is chosen, do nothing.
-		if (chosenFolder == null)
-		{
-			return;
-		}
-
-		// get the full path of the file, using the parent, and a time stamp.
-		final Path file = chosenFolder.resolve("log_file_-_" + File.getInstance().getFileStamp() + ".txt");
-
-		// copy the already existing log file
-		new Thread(() ->
-		{
-			try
-			{
-				Files.copy(File.getInstance().getTextFile(), file);
-			}
-			catch (final Exception e)
-			{
-				e.printStackTrace();
-			}
-		}).start();
-	}
-
-	/**
-	 * Choose folder.
-	 *
-	 * @return Local folder
-	 */
-	private Path chooseFolder()
-	{
-		if (Files.notExists(Paths.get(Options.getInstance().getLastDirectory())))
-		{
-			Options.getInstance().setLastDirectory(System.getProperty("user.home"));
-		}
-
-		// only choose directories.
-		final JFileChooser chooser = new JFileChooser(Options.getInstance().getLastDirectory());
-		chooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
-
-		// show dialogue
-		final int result = chooser.showOpenDialog(GUI.getInstance().getFrame());
-		final java.io.File selectedFolder = chooser.getSelectedFile();
-
-		// if a folder was not chosen ...
-		if ((result != JFileChooser.APPROVE_OPTION) || (selectedFolder == null))
-		{
-			return null;
-		}
-
-		Options.getInstance().setLastDirectory(selectedFolder.toString());
-
-		return selectedFolder.toPath();
-	}
-
-	//======================================================================================
-	// #endregion Saving.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Getters and setters.
-	//======================================================================================
-
-	/**
-	 * @return the initialised
-	 */
-	public boolean isInitialised()
-	{
-		return initialised;
-	}
-
-	/**
-	 * @param initialised
-	 *            the initialised to set
-	 */
-	public void setInitialised(final boolean initialised)
-	{
-		this.initialised = initialised;
-	}
-
-	//======================================================================================
-	// #endregion Getters and setters.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	/**
-	 * @return the gui
-	 */
-	public GUI getGui()
-	{
-		return gui;
-	}
-
-	Logger()
-	{}
-
-}
-
-
-/**
- * <p>
- * A PrintStreamCapturer is passed to {@link System#setOut(PrintStream)}. It redirects the console output stream to this logger.
- * </p>
- * Credit: Joffrey (<a href="http://stackoverflow.com">StackOverflow</a>)
- */
-class PrintStreamCapturer extends PrintStream
-{
-
-	private CaptureType	captureType	= OUT;
-
-	/**
-	 * The Enum CaptureType.
-	 */
-	public static enum CaptureType
-	{
-
-		/** Error. */
-		ERROR,
-
-		/** Out. */
-		OUT
-	}
-
-	public PrintStreamCapturer(final PrintStream capturedStream, final CaptureType type)
-	{
-		super(capturedStream);
-		captureType = type;
-	}
-
-	private void write(final String str)
-	{
-		if ( !Options.getInstance().isCaptureConsole())
-		{
-			return;
-		}
-
-		final String[] s = str.split("\n");
-
-		if (s.length == 0)
-		{
-			return;
-		}
-
-		for (int i = 0; i < s.length; i++)
-		{
-			if ((i >= (s.length - 1)) && s[i].equals(""))
-			{
-				continue;
-			}
-
-			if (captureType == OUT)
-			{
-				Log.getInstance().stream(s[i]);
-			}
-			else if (captureType == ERROR)
-			{
-				Log.getInstance().streamError(s[i]);
-			}
-		}
-	}
-
-	private void newLine()
-	{
-		write("\n");
-	}
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region print overloads.
-	//======================================================================================
-
-	@Override
-	public void print(final boolean b)
-	{
-		synchronized (this)
-		{
-			super.print(b);
-			write(String.valueOf(b));
-		}
-	}
-
-	@Override
-	public void print(final char c)
-	{
-		synchronized (this)
-		{
-			super.print(c);
-			write(String.valueOf(c));
-		}
-	}
-
-	@Override
-	public void print(final char[] s)
-	{
-		synchronized (this)
-		{
-			super.print(s);
-			write(String.valueOf(s));
-		}
-	}
-
-	@Override
-	public void print(final double d)
-	{
-		synchronized (this)
-		{
-			super.print(d);
-			write(String.valueOf(d));
-		}
-	}
-
-	@Override
-	public void print(final float f)
-	{
-		synchronized (this)
-		{
-			super.print(f);
-			write(String.valueOf(f));
-		}
-	}
-
-	@Override
-	public void print(final int i)
-	{
-		synchronized (this)
-		{
-			super.print(i);
-			write(String.valueOf(i));
-		}
-	}
-
-	@Override
-	public void print(final long l)
-	{
-		synchronized (this)
-		{
-			super.print(l);
-			write(String.valueOf(l));
-		}
-	}
-
-	@Override
-	public void print(final Object o)
-	{
-		synchronized (this)
-		{
-			super.print(o);
-			write(String.valueOf(o));
-		}
-	}
-
-	@Override
-	public void print(final String s)
-	{
-		synchronized (this)
-		{
-			super.print(s);
-			if (s == null)
-			{
-				write("null");
-			}
-			else
-			{
-				write(s);
-			}
-		}
-	}
-
-	@Override
-	public void println()
-	{
-		synchronized (this)
-		{
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final boolean x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final char x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final int x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final long x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final float x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final double x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final char x[])
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final String x)
-	{
-		synchronized (this)
-		{
-			print(x);
-			newLine();
-			super.println();
-		}
-	}
-
-	@Override
-	public void println(final Object x)
-	{
-		final String s = String.valueOf(x);
-		synchronized (this)
-		{
-			print(s);
-			newLine();
-			super.println();
-		}
-	}
-
-	//======================================================================================
-	// #endregion print overloads.
-	////////////////////////////////////////////////////////////////////////////////////////
-}
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Logger.java
+ *
+ *			Modified: 28-Jul-2014 (14:51:14)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import static com.yagasoft.logger.Log.SequenceOption.BLACK_LAST_STRING;
+import static com.yagasoft.logger.Log.SequenceOption.COLOUR_LAST_STRING;
+import static com.yagasoft.logger.Log.SequenceOption.REMOVE_SEPARATOR;
+import static com.yagasoft.logger.PrintStreamCapturer.CaptureType.ERROR;
+import static com.yagasoft.logger.PrintStreamCapturer.CaptureType.OUT;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.TimeZone;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
+
+import javax.swing.text.AttributeSet;
+
+import com.yagasoft.logger.Log.DurabilityPolicy;
+import com.yagasoft.logger.Log.ExportRange;
+import com.yagasoft.logger.Log.OverflowPolicy;
+import com.yagasoft.logger.Log.RollTime;
+import com.yagasoft.logger.Log.SequenceOption;
+import com.yagasoft.logger.Log.TimePrecision;
+import com.yagasoft.logger.menu.panels.option.Options;
+
+
+/**
+ * This class contains methods to log entries, display them in a stylised form, and save them to disk in a log file.<br />
+ * <br />
+ * Everything is initialised automatically when calling the first post or error or exception. (everything is static)<br/>
+ * To show the window call {@link GUI#showLogger()}, which does initialise the log as above if it was the first thing called.<br />
+ * <br/>
+ * <strong>Defaults:</strong> read 'README.md'.
+ */
+public class Logger
+{
+
+	// please, don't change the order of the fields.
+
+	/** set when the log is accessible and ready. */
+	private boolean								initialised				= false;
+
+	/* set at shutdown; entries posted after it are dropped. */
+	private volatile boolean					sealed;
+	private final AtomicBoolean					shutDown				= new AtomicBoolean();
+
+	/** Kind of entry, which decides if it's urgent to save it. */
+	public enum EntryType
+	{
+		INFO,
+		ERROR,
+		EXCEPTION
+	}
+
+	/* Default number of colours. */
+	private int				defaultNumberOfColours;
+
+	/* Default coloured strings separator for {@link #infoColoured(String...)}. */
+	private String			defaultColouringSeparator;
+
+	/* Default black last string flag for {@link #infoColouredSeparator(String, String...)}. */
+	private boolean			defaultBlackLastString;
+
+	/* what to do when the log can't keep up with the entries posted. */
+	private volatile OverflowPolicy	overflowPolicy	= OverflowPolicy.DROP_NEWEST;
+
+	/* one in how many entries is kept when sampling. */
+	private volatile int			sampleRate		= 10;
+
+	private final Metrics			metrics			= new Metrics();
+
+	/* how precise, and in which zone, the time at the start of each entry is. */
+	private volatile TimePrecision	timePrecision	= TimePrecision.SECONDS;
+	private volatile TimeZone		timeZone		= TimeZone.getDefault();
+
+	/* write the log files by memory mapping them, or compress them while writing them. */
+	private volatile boolean		memoryMapped;
+	private volatile boolean		compressedWriting;
+
+	/* also write the log in the compact binary format; see BinaryLog. */
+	private volatile boolean		binaryWriting;
+	private volatile boolean		htmlWriting			= true;
+
+	/* keep the entries in a journal until they're written, to recover them if the process dies; see Journal. */
+	private volatile boolean		journaling;
+
+	/* deflate level of the archives, and the files compressed while writing. */
+	private volatile int			compressionLevel	= Deflater.DEFAULT_COMPRESSION;
+
+	/* start a new log file when the current one reaches this size (bytes), or number of entries, or time; 0 is never. */
+	private volatile long				rollSize;
+	private volatile long				rollEntries;
+	private volatile RollTime			rollTime			= RollTime.NEVER;
+
+	/* when the log files are forced to the disk, and how often when periodic (millis). */
+	private volatile DurabilityPolicy	durabilityPolicy	= DurabilityPolicy.PERIODIC;
+	private volatile long				flushInterval		= 5000;
+
+	/* the most time (millis) to spend writing what's left at shutdown. */
+	private volatile long				shutdownTimeout		= 5000;
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Style.
+	//======================================================================================
+
+	private final String	font		= "Verdana";
+
+	//--------------------------------------------------------------------------------------
+	// #region Colours.
+
+	// a bit lighter than the one from the Color class.
+	private final int		BLUE		= 0x2328D2;
+
+	private final int		ORANGE		= 0x965000;
+	private final int		LIGHT_BLUE	= 0x007878;
+
+	// a bit darker than the one from the Color class.
+	private final int		GREEN		= 0x008C00;
+
+	private final int		VIOLET		= 0x7800C8;
+	private final int		RED			= 0xE60000;
+
+	// a bit darker than the one from the Color class.
+	private final int		MAGENTA		= 0xDC00A0;
+
+	private final int		BLACK		= 0x000000;
+	private final int		GREY		= 0xB4B4B4;
+
+	// colours (RGB) to cycle through when displaying info with words wrapped in '`'.
+	private int[]			colours		= { BLUE, ORANGE, LIGHT_BLUE, VIOLET, RED, GREEN, MAGENTA };
+
+	// all colours a segment can have: black, grey, then the ones above in the same order.
+	private int[]			palette		= { BLACK, GREY, BLUE, ORANGE, LIGHT_BLUE, VIOLET, RED, GREEN, MAGENTA };
+
+	/* indices of colours in the palette. */
+	private static final int	BLACK_INDEX		= 0;
+	private static final int	GREY_INDEX		= 1;
+	private static final int	COLOURS_INDEX	= 2;
+	private static final int	VIOLET_INDEX	= COLOURS_INDEX + 3;
+	private static final int	RED_INDEX		= COLOURS_INDEX + 4;
+	private static final int	GREEN_INDEX		= COLOURS_INDEX + 5;
+
+	// #endregion Colours.
+	//--------------------------------------------------------------------------------------
+
+	/* style passed to getStyle method. */
+	private enum Style
+	{
+		PLAIN,
+		BOLD,
+		//		ITALIC,
+		BOLDITALIC
+	}
+
+	/* font sizes supported by the style table. */
+	private static final int			MIN_FONT_SIZE	= 10;
+	private static final int			MAX_FONT_SIZE	= 25;
+
+	/*
+	 * Every variant of size, style, and colour has an ID (see styleId()), which entries carry instead of attributes.
+	 * The window forms the attributes of each, and the HTML log a CSS class; so getting a style is only an array read.
+	 */
+	private final int					styleCount		= (MAX_FONT_SIZE - MIN_FONT_SIZE + 1) * Style.values().length
+																* palette.length;
+
+	/* CSS class names for the HTML log file, indexed by style ID; and the head of the file, with their CSS. */
+	private final String[]				cssClasses		= new String[styleCount];
+	private String						htmlHead;
+
+	/** Attribute pool, filled by the window, if any. Kept for compatibility; posting uses style IDs instead. */
+	public Map<String, AttributeSet>	attrPool		= new HashMap<String, AttributeSet>(styleCount);
+	/** Style pool for HTML log file CSS, filled by the window, if any. Kept for compatibility. */
+	public Map<AttributeSet, String>	stylePool		= new HashMap<AttributeSet, String>(styleCount);
+
+	//======================================================================================
+	// #endregion Style.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/* the window; null if headless. */
+	private GUI							gui;
+	private EntryWriter					writer;
+	private File						file;
+
+	/* no window; nothing of Swing, or AWT, is loaded. */
+	private volatile boolean			headless		= Boolean.getBoolean("java.awt.headless");
+
+	/* each thread builds its entries in its own instance, which is then passed to the writer in one go. */
+	private final ThreadLocal<Entry>	entries		= ThreadLocal.withInitial(Entry::new);
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Initialisation.
+	//======================================================================================
+
+	/**
+	 * Initialises the logger by loading the options, initialising the log file, and the GUI (unless headless).
+	 *
+	 * @param defaultSeparator
+	 *            Default separator to use for {@link #infoColoured(String...)}
+	 * @param defaultNumberOfColours
+	 *            Default number of colours to use for {@link #info(String, int...)}
+	 * @param defaultBlackLastString
+	 *            Default black last string to use for {@link #infoColouredSeparator(int, boolean, String, String...)}
+	 */
+	void initLogger(final String defaultSeparator, final int defaultNumberOfColours, final boolean defaultBlackLastString)
+	{
+		// set defaults
+		defaultColouringSeparator = defaultSeparator;
+		this.defaultNumberOfColours = defaultNumberOfColours;
+		this.defaultBlackLastString = defaultBlackLastString;
+
+		// initialise logger if it wasn't.
+		if ( !initialised)
+		{
+			// make sure to flush all log text, and save options before exiting.
+			Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+
+			Options.getInstance().loadOptions();
+			file = File.getInstance();
+			file.setHtmlHead(htmlHead);
+
+			writer = EntryWriter.getInstance();
+			loadSinks();
+
+			if ( !headless)
+			{
+				gui = GUI.getInstance();
+				writer.setView(gui);
+			}
+
+			initialised = true;
+
+			// what the last session didn't write goes first.
+			final int recovered = writer.postRecovered();
+
+			// post something and create a log file for this session.
+			info("!!! `NEW LOG` !!!");
+
+			if (recovered > 0)
+			{
+				info("Recovered `" + recovered + "` entries the last session posted, but didn't write.");
+			}
+		}
+	}
+
+	// add the sinks listed in 'META-INF/services/com.yagasoft.logger.ISink' on the class path.
+	private void loadSinks()
+	{
+		try
+		{
+			for (final ISink sink : ServiceLoader.load(ISink.class))
+			{
+				writer.addSink(sink);
+			}
+		}
+		catch (final ServiceConfigurationError e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Adds an output to the log, which gets the entries posted from now on, on a thread of its own; see {@link ISink}.
+	 *
+	 * @param sink
+	 *            the sink
+	 */
+	public void addSink(final ISink sink)
+	{
+		EntryWriter.getInstance().addSink(sink);
+	}
+
+	// saves all variants of attributes in a table to save memory and time
+	// forms CSS for all those attributes for the head of the HTML file to save space
+	// done on creation, so binary logs can be converted without initialising the log (see BinaryLogReader)
+	private void initStyles()
+	{
+		final StringBuilder head = new StringBuilder(64 * 1024).append("<head><style>");
+
+		for (final Style style : Style.values())
+		{
+			for (int i = MIN_FONT_SIZE; i <= MAX_FONT_SIZE; i++)
+			{
+				// go through black, grey, then all the other colour variants ...
+				for (int colour = 0; colour < palette.length; colour++)
+				{
+					saveStyle(i, style, colour, head);
+				}
+			}
+		}
+
+		htmlHead = head.append("</style></head>").toString();
+	}
+
+	// save the CSS class of the style, and write its CSS to the head of the file
+	private void saveStyle(final int i, final Style style, final int colourIndex, final StringBuilder head)
+	{
+		final int colour = palette[colourIndex];
+		final int id = styleId(i, style, colourIndex);
+
+		// form the class name for the css and it to the table; named as before, so old logs look the same.
+		final String tempString = Log.builder().append('s')
+				.append(i)
+				.append(isStyleBold(id))
+				.append(isStyleItalic(id))
+				.append(0xFF000000 | colour).toString();
+		cssClasses[id] = tempString;
+
+		// form the css itself and add it to the head of the file
+		head.append('.')
+				.append(tempString)
+				.append(" {font-family:").append(font).append(';')
+				.append("font-size:").append(i).append(';')
+				.append("font-weight:").append(isStyleBold(id) ? "bold" : "normal").append(';')
+				.append("font-style:").append(isStyleItalic(id) ? "italic" : "normal").append(';')
+				.append("color:rgb(").append((colour >> 16) & 0xFF).append(',').append((colour >> 8) & 0xFF).append(',')
+				.append(colour & 0xFF).append(");} ");
+	}
+
+	/*
+	 * Forms the ID of a style in the style table. Sizes outside the supported range are clamped to it.
+	 */
+	private int styleId(final int fontSize, final Style style, final int colourIndex)
+	{
+		final int size = Math.min(Math.max(fontSize, MIN_FONT_SIZE), MAX_FONT_SIZE) - MIN_FONT_SIZE;
+		return (((size * Style.values().length) + style.ordinal()) * palette.length) + colourIndex;
+	}
+
+	/* convenience method: ID of this style at the current font size. */
+	private int styleId(final Style style, final int colourIndex)
+	{
+		return styleId(Options.getInstance().getFontSize(), style, colourIndex);
+	}
+
+	/**
+	 * @return the number of styles; IDs go from 0 to this (exclusive)
+	 */
+	int getStyleCount()
+	{
+		return styleCount;
+	}
+
+	/**
+	 * @return the font family of all styles
+	 */
+	String getFontFamily()
+	{
+		return font;
+	}
+
+	/**
+	 * @param styleId
+	 *            Style ID, as carried by an {@link Entry}.
+	 * @return the font size of the style
+	 */
+	int getStyleFontSize(final int styleId)
+	{
+		return (styleId / palette.length / Style.values().length) + MIN_FONT_SIZE;
+	}
+
+	/**
+	 * @param styleId
+	 *            Style ID, as carried by an {@link Entry}.
+	 * @return whether the style is bold
+	 */
+	boolean isStyleBold(final int styleId)
+	{
+		return getStyle(styleId) != Style.PLAIN;
+	}
+
+	/**
+	 * @param styleId
+	 *            Style ID, as carried by an {@link Entry}.
+	 * @return whether the style is italic
+	 */
+	boolean isStyleItalic(final int styleId)
+	{
+		return getStyle(styleId) == Style.BOLDITALIC;
+	}
+
+	/**
+	 * @param styleId
+	 *            Style ID, as carried by an {@link Entry}.
+	 * @return the colour of the style, as RGB
+	 */
+	int getStyleColour(final int styleId)
+	{
+		return palette[styleId % palette.length];
+	}
+
+	/**
+	 * @param styleId
+	 *            Style ID, as carried by an {@link Entry}.
+	 * @return the CSS class of the style in the HTML log file
+	 */
+	String getCssClass(final int styleId)
+	{
+		return cssClasses[styleId];
+	}
+
+	/**
+	 * @return the head of the HTML log file, with the CSS of all styles
+	 */
+	String getHtmlHead()
+	{
+		return htmlHead;
+	}
+
+	private Style getStyle(final int styleId)
+	{
+		return Style.values()[(styleId / palette.length) % Style.values().length];
+	}
+
+	//======================================================================================
+	// #endregion Initialisation.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	// //////////////////////////////////////////////////////////////////////////////////////
+	// #region Posting.
+	// ======================================================================================
+
+	//--------------------------------------------------------------------------------------
+	// #region Info posting.
+
+	void info(final String entry, final int... coloursToUse)
+	{
+		final Entry logEntry = startEntry(EntryType.INFO);
+
+		// line label
+		logEntry.add("Info: ", styleId(Style.BOLDITALIC, GREEN_INDEX));
+
+		// append the entries on new lines using number of colours passed.
+		postEntry(logEntry, entry, coloursToUse);
+
+		endEntry(logEntry);
+	}
+
+	void info(final int coloursToUse, final String... entries)
+	{
+		final Entry logEntry = startEntry(EntryType.INFO);
+
+		// entry label.
+		logEntry.add("Info ...\n", styleId(Style.BOLDITALIC, GREEN_INDEX));
+
+		// append the entry using number of colours passed.
+		for (final String entry : entries)
+		{
+			postEntry(logEntry, entry, coloursToUse);
+		}
+
+		endEntry(logEntry);
+	}
+
+	// this method is the common process of posting entries for the two methods above.
+	private void postEntry(final Entry logEntry, final String entry, final int... coloursToUse)
+	{
+		final int style = styleId(logEntry.getFontSize(), Style.PLAIN, BLACK_INDEX);
+
+		// the words wrapped in '`' are coloured when the entry is written.
+		logEntry.addMessage(entry, style, countColours(coloursToUse));
+		logEntry.add("\n", style);
+	}
+
+	/* calculate number of colours to use. If passed, then use, else use default; anything outside 0..max is max. */
+	private int countColours(final int... coloursToUse)
+	{
+		final int numberOfColours = (coloursToUse.length > 0) ? coloursToUse[0] : defaultNumberOfColours;
+		return ((numberOfColours < 0) || (numberOfColours > colours.length)) ? colours.length : numberOfColours;
+	}
+
+	void infoColoured(final String... strings)
+	{
+		infoColouredSeparator(defaultColouringSeparator, strings);
+	}
+
+	void infoColoured(final int coloursToUse, final boolean blackLastString, final String... strings)
+	{
+		infoColouredSeparator(coloursToUse, blackLastString, defaultColouringSeparator, strings);
+	}
+
+	void infoColouredSeparator(final String separator, final String... strings)
+	{
+		infoColouredSeparator(defaultNumberOfColours, defaultBlackLastString, separator, strings);
+	}
+
+	void infoColouredSeparator(final int coloursToUse, final boolean blackLastString
+			, final String separator, final String... strings)
+	{
+		if (strings.length == 0)
+		{
+			return;
+		}
+
+		final StringBuilder stringBuffer = Log.builder();
+
+		// form the entry
+		// add the first string using the colouring symbol
+		stringBuffer.append("`").append(strings[0]).append("`").append(((strings.length > 1) ? separator : ""));
+
+		// add the rest if there are any, except last string
+		for (int i = 1; (i < (strings.length - 1)) && (strings.length > 2); i++)
+		{
+			stringBuffer.append("`").append(strings[i]).append("`").append(separator);
+		}
+
+		// end with the last string, and if 'black' is specified, then don't wrap it in '`'.
+		if (strings.length > 1)
+		{
+			stringBuffer.append(blackLastString ? "" : "`").append(strings[strings.length - 1]).append(blackLastString ? "" : "`");
+		}
+
+		info(stringBuffer.toString(), coloursToUse);
+	}
+
+	void infoColouredSequence(final String separator, final String string, final SequenceOption... options)
+	{
+		infoColouredSequence(defaultNumberOfColours, separator, string, options);
+	}
+
+	void infoColouredSequence(final int coloursToUse, final String separator, final String string
+			, final SequenceOption... optionsList)
+	{
+		final boolean blackLastString = hasOption(optionsList, BLACK_LAST_STRING)
+				|| ( !hasOption(optionsList, COLOUR_LAST_STRING) && defaultBlackLastString);
+
+		// like 'split', trailing empty parts are dropped; unlike it, the separator is taken literally.
+		int length = string.length();
+
+		while ( !separator.isEmpty() && (length >= separator.length())
+				&& string.startsWith(separator, length - separator.length()))
+		{
+			length -= separator.length();
+		}
+
+		// nothing but separators.
+		if ((length == 0) && !string.isEmpty())
+		{
+			return;
+		}
+
+		final Entry logEntry = startEntry(EntryType.INFO);
+		final int style = styleId(logEntry.getFontSize(), Style.PLAIN, BLACK_INDEX);
+
+		// line label
+		logEntry.add("Info: ", styleId(Style.BOLDITALIC, GREEN_INDEX));
+
+		// the parts are split, and coloured, when the entry is written.
+		logEntry.addSequence(string, length, style, countColours(coloursToUse), separator, blackLastString
+				, hasOption(optionsList, REMOVE_SEPARATOR));
+		logEntry.add("\n", style);
+
+		endEntry(logEntry);
+	}
+
+	private boolean hasOption(final SequenceOption[] options, final SequenceOption option)
+	{
+		for (final SequenceOption current : options)
+		{
+			if (current == option)
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	// #endregion Info posting.
+	//--------------------------------------------------------------------------------------
+
+	void error(final String entry)
+	{
+		final Entry logEntry = startEntry(EntryType.ERROR);
+
+		// append line label
+		logEntry.add("!! ERROR >> ", styleId(Style.BOLDITALIC, RED_INDEX));
+
+		// append the error
+		postError(logEntry, entry);
+
+		endEntry(logEntry);
+	}
+
+	void errors(final String... entries)
+	{
+		final Entry logEntry = startEntry(EntryType.ERROR);
+
+		// append line label
+		logEntry.add("!! ERRORS !!\n", styleId(Style.BOLDITALIC, RED_INDEX));
+
+		// append the errors on new lines
+		for (final String entry : entries)
+		{
+			postError(logEntry, entry);
+		}
+
+		endEntry(logEntry);
+	}
+
+	// this method is the common process of posting entries for the two methods above.
+	private void postError(final Entry logEntry, final String entry)
+	{
+		final int style = styleId(logEntry.getFontSize(), Style.PLAIN, RED_INDEX);
+
+		// the words wrapped in '`' are turned black when the entry is written.
+		logEntry.addMessage(entry, style, Entry.ERROR);
+
+		// add a new line
+		logEntry.add("\n", style);
+	}
+
+	void except(final Throwable exception)
+	{
+		final Entry logEntry = startEntry(EntryType.EXCEPTION);
+
+		logEntry.add("!! EXCEPTION !!\n", styleId(Style.BOLDITALIC, RED_INDEX));
+
+		final int style = styleId(Style.PLAIN, RED_INDEX);
+
+		// define how to handle the character in the stack trace.
+		final PrintWriter exceptionWriter = new PrintWriter(new Writer()
+		{
+
+			// store lines in the stack trace to print later.
+			List<String>	lines	= new ArrayList<String>();
+
+			@Override
+			public void write(final char[] cbuf, final int off, final int len) throws IOException
+			{
+				lines.add(new String(cbuf, off, len));
+			}
+
+			@Override
+			public void flush() throws IOException
+			{
+				for (final String line : lines)
+				{
+					logEntry.add(line, style);		// add to the entry.
+				}
+
+				lines.clear();
+			}
+
+			@Override
+			public void close() throws IOException
+			{}
+		});
+
+		// print the exception.
+		exception.printStackTrace(exceptionWriter);
+		exceptionWriter.flush();
+		exceptionWriter.close();
+
+		logEntry.add("\r", style);
+
+		endEntry(logEntry);
+	}
+
+	/*
+	 * Gets this thread's entry, and stamps it with the current time; the time is formatted when it's written.
+	 * If this thread is already building one (e.g. captured console output while posting), a new one is used instead.
+	 */
+	private Entry startEntry(final EntryType type)
+	{
+		Entry logEntry = entries.get();
+
+		if (logEntry.isBuilding())
+		{
+			logEntry = new Entry();
+		}
+
+		logEntry.setBuilding(true);
+		logEntry.setType(type);
+		logEntry.setSaveOnly((type == EntryType.INFO) && Options.getInstance().isShowOnlyErrors());
+		logEntry.setTime(Clock.now());
+		logEntry.setFontSize(Options.getInstance().getFontSize());
+		logEntry.setThreadId(Thread.currentThread().getId());
+
+		return logEntry;
+	}
+
+	/* send the finished entry to the log in one go, and make it ready for the next one. */
+	private void endEntry(final Entry logEntry)
+	{
+		if (sealed)
+		{
+			metrics.countDroppedAtShutdown(1);
+			logEntry.clear();
+			return;
+		}
+
+		writer.append(logEntry);
+		logEntry.clear();
+	}
+
+	// ======================================================================================
+	// #endregion Public posting interface.
+	// //////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Stops taking entries, then writes everything still waiting to the log files, in order: the entries waiting in the
+	 * ring, then what's queued for the files, which are then closed, forced to the disk, and compressed. The options are
+	 * saved meanwhile.<br />
+	 * Returns as soon as all that's done, or the {@link #setShutdownTimeout(long) shutdown timeout} passes;
+	 * the entries left then, or posted after the call, are counted in {@link Metrics#getDroppedAtShutdown()},
+	 * and reported on the standard error.<br />
+	 * It's called on exit anyway, and only the first call does anything.
+	 */
+	public void shutdown()
+	{
+		if ( !shutDown.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeout);
+		sealed = true;
+
+		final Thread optionsSaver = new Thread(() -> Options.getInstance().saveOptions());
+		optionsSaver.start();
+
+		long left = 0;
+		boolean finished = true;
+
+		try
+		{
+			if (initialised)
+			{
+				// entries waiting for the file sinks.
+				left = writer.drain(deadline);
+
+				// write what reached the files, close, force, and compress them.
+				finished = file.finalise(deadline) && (left == 0);
+
+				writer.closeSinks();
+			}
+
+			optionsSaver.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+
+		metrics.countDroppedAtShutdown(left);
+
+		if ( !finished || (metrics.getDroppedAtShutdown() > 0))
+		{
+			// 'System.err' might be captured by the log, which is closed by now.
+			new PrintStream(new FileOutputStream(FileDescriptor.err), true).println("LOGGER: shutdown "
+					+ (finished ? "finished" : "timed out") + "; " + metrics.getDroppedAtShutdown()
+					+ " entries dropped at shutdown, " + metrics.getDropped() + " entries dropped in total.");
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region System stream capture.
+	//======================================================================================
+
+	/**
+	 * Capture sysout.
+	 */
+	public void captureSysOut()
+	{
+		System.setOut(new PrintStreamCapturer(System.out, OUT));
+		System.setErr(new PrintStreamCapturer(System.err, ERROR));
+	}
+
+	// post using a single colour, and prefix with 'Stream:'. Used by PrintStreamCapturer.
+	void stream(final String text)
+	{
+		final Entry logEntry = startEntry(EntryType.INFO);
+
+		// line label
+		logEntry.add("Stream: ", styleId(Style.BOLDITALIC, VIOLET_INDEX));
+
+		// append the entries on new lines using number of colours passed.
+		postEntry(logEntry, text, 0);
+
+		endEntry(logEntry);
+	}
+
+	// post using a red colour, and prefix with '!! Stream:'. Used by PrintStreamCapturer.
+	void streamError(final String text)
+	{
+		final Entry logEntry = startEntry(EntryType.ERROR);
+
+		// append line label
+		logEntry.add("!! Stream: ", styleId(Style.BOLDITALIC, RED_INDEX));
+
+		// append the entries on new lines using number of colours passed.
+		postError(logEntry, text);
+
+		endEntry(logEntry);
+	}
+
+	//======================================================================================
+	// #endregion System stream capture.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	// //////////////////////////////////////////////////////////////////////////////////////
+	// #region Text methods.
+	// ======================================================================================
+
+	/**
+	 * Gets the style of the date at the start of an entry.
+	 *
+	 * @param fontSize
+	 *            Font size of the entry.
+	 * @return the style ID
+	 */
+	int getDateStyle(final int fontSize)
+	{
+		// date in light colour because it's repeated too much, so it becomes distracting.
+		return styleId(fontSize, Style.PLAIN, GREY_INDEX);
+	}
+
+	/**
+	 * Gets the style of a section of a message, as parsed by {@link Markup}.
+	 *
+	 * @param fontSize
+	 *            Font size of the entry.
+	 * @param markup
+	 *            Markup of the message; see {@link Entry#getMarkup(int)}.
+	 * @param section
+	 *            Section of the span.
+	 * @return the style ID
+	 */
+	int getMarkupStyle(final int fontSize, final int markup, final int section)
+	{
+		// odd sections are the ones needing colour
+		final boolean coloured = (section % 2) == 1;
+
+		if (markup == Entry.ERROR)
+		{
+			return styleId(fontSize, Style.PLAIN, coloured ? BLACK_INDEX : RED_INDEX);
+		}
+
+		final int numberOfColours = Entry.getColours(markup);
+
+		if (coloured && (numberOfColours > 0))
+		{
+			return styleId(fontSize, Style.PLAIN, COLOURS_INDEX + ((section / 2) % numberOfColours));
+		}
+
+		return styleId(fontSize, Style.PLAIN, BLACK_INDEX);
+	}
+
+	/**
+	 * Gets the style of the time at the start of an entry.
+	 *
+	 * @param fontSize
+	 *            Font size of the entry.
+	 * @return the style ID
+	 */
+	int getTimeStyle(final int fontSize)
+	{
+		return styleId(fontSize, Style.PLAIN, BLACK_INDEX);
+	}
+
+	// ======================================================================================
+	// #endregion Text methods.
+	// //////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Saving.
+	//======================================================================================
+
+	/**
+	 * Save as html; only the current log file, started at the last roll-over, if any.
+	 */
+	public void saveAsHTML()
+	{
+		if ( !initialised || (gui == null))
+		{
+			return;
+		}
+
+		// !comments are in saveAsTxt!
+
+		final Path chosenFolder = gui.chooseFolder();
+
+		if (chosenFolder == null)
+		{
+			return;
+		}
+
+		exportHTML(chosenFolder.resolve("log_file_-_" + File.getInstance().getFileStamp() + ".html"), ExportRange.ALL, null);
+	}
+
+	/**
+	 * Save as txt; only the current log file, started at the last roll-over, if any.
+	 */
+	public void saveAsTxt()
+	{
+		if ( !initialised || (gui == null))
+		{
+			return;
+		}
+
+		// ask the user for folder to save to.
+		final Path chosenFolder = gui.chooseFolder();
+
+		// if nothing is chosen, do nothing.
+		if (chosenFolder == null)
+		{
+			return;
+		}
+
+		// copy the already existing log file, using a file name with a time stamp.
+		exportText(chosenFolder.resolve("log_file_-_" + File.getInstance().getFileStamp() + ".txt"), ExportRange.ALL, null);
+	}
+
+	/**
+	 * Export a range of the text log file; see {@link Log#exportText(Path, ExportRange, IExportListener)}.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Entries to export.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done
+	 */
+	public Future<Path> exportText(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return File.getInstance().exportText(target, range, listener);
+	}
+
+	/**
+	 * Export a range of the HTML log file; see {@link Log#exportHTML(Path, ExportRange, IExportListener)}.
+	 *
+	 * @param target
+	 *            Target file; must not exist.
+	 * @param range
+	 *            Entries to export.
+	 * @param listener
+	 *            Listener to the progress, or null.
+	 * @return the target, when done
+	 */
+	public Future<Path> exportHTML(final Path target, final ExportRange range, final IExportListener listener)
+	{
+		return File.getInstance().exportHtml(target, range, listener);
+	}
+
+	//======================================================================================
+	// #endregion Saving.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters and setters.
+	//======================================================================================
+
+	/**
+	 * @return the initialised
+	 */
+	public boolean isInitialised()
+	{
+		return initialised;
+	}
+
+	/**
+	 * @param initialised
+	 *            the initialised to set
+	 */
+	public void setInitialised(final boolean initialised)
+	{
+		this.initialised = initialised;
+	}
+
+	/**
+	 * @return the overflowPolicy
+	 */
+	public OverflowPolicy getOverflowPolicy()
+	{
+		return overflowPolicy;
+	}
+
+	/**
+	 * @param overflowPolicy
+	 *            the overflowPolicy to set
+	 */
+	public void setOverflowPolicy(final OverflowPolicy overflowPolicy)
+	{
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * @return the sampleRate
+	 */
+	public int getSampleRate()
+	{
+		return sampleRate;
+	}
+
+	/**
+	 * @param sampleRate
+	 *            the sampleRate to set; anything below 1 is taken as 1
+	 */
+	public void setSampleRate(final int sampleRate)
+	{
+		this.sampleRate = Math.max(sampleRate, 1);
+	}
+
+	/**
+	 * @return the metrics
+	 */
+	public Metrics getMetrics()
+	{
+		return metrics;
+	}
+
+	/**
+	 * @return the timePrecision
+	 */
+	public TimePrecision getTimePrecision()
+	{
+		return timePrecision;
+	}
+
+	/**
+	 * @param timePrecision
+	 *            the timePrecision to set
+	 */
+	public void setTimePrecision(final TimePrecision timePrecision)
+	{
+		this.timePrecision = timePrecision;
+	}
+
+	/**
+	 * @return the timeZone
+	 */
+	public TimeZone getTimeZone()
+	{
+		return timeZone;
+	}
+
+	/**
+	 * @param timeZone
+	 *            the timeZone to set
+	 */
+	public void setTimeZone(final TimeZone timeZone)
+	{
+		this.timeZone = timeZone;
+	}
+
+	/**
+	 * @return the rollSize
+	 */
+	public long getRollSize()
+	{
+		return rollSize;
+	}
+
+	/**
+	 * @param rollSize
+	 *            the rollSize to set
+	 */
+	public void setRollSize(final long rollSize)
+	{
+		this.rollSize = Math.max(rollSize, 0);
+	}
+
+	/**
+	 * @return the rollEntries
+	 */
+	public long getRollEntries()
+	{
+		return rollEntries;
+	}
+
+	/**
+	 * @param rollEntries
+	 *            the rollEntries to set
+	 */
+	public void setRollEntries(final long rollEntries)
+	{
+		this.rollEntries = Math.max(rollEntries, 0);
+	}
+
+	/**
+	 * @return the rollTime
+	 */
+	public RollTime getRollTime()
+	{
+		return rollTime;
+	}
+
+	/**
+	 * @param rollTime
+	 *            the rollTime to set
+	 */
+	public void setRollTime(final RollTime rollTime)
+	{
+		this.rollTime = rollTime;
+	}
+
+	/**
+	 * @return the durabilityPolicy
+	 */
+	public DurabilityPolicy getDurabilityPolicy()
+	{
+		return durabilityPolicy;
+	}
+
+	/**
+	 * @param durabilityPolicy
+	 *            the durabilityPolicy to set
+	 */
+	public void setDurabilityPolicy(final DurabilityPolicy durabilityPolicy)
+	{
+		this.durabilityPolicy = durabilityPolicy;
+		metrics.setDurabilityPolicy(durabilityPolicy);
+	}
+
+	/**
+	 * @return the flushInterval
+	 */
+	public long getFlushInterval()
+	{
+		return flushInterval;
+	}
+
+	/**
+	 * @param flushInterval
+	 *            the flushInterval to set
+	 */
+	public void setFlushInterval(final long flushInterval)
+	{
+		this.flushInterval = Math.max(flushInterval, 1);
+	}
+
+	/**
+	 * @return the shutdownTimeout
+	 */
+	public long getShutdownTimeout()
+	{
+		return shutdownTimeout;
+	}
+
+	/**
+	 * @param shutdownTimeout
+	 *            the shutdownTimeout to set
+	 */
+	public void setShutdownTimeout(final long shutdownTimeout)
+	{
+		this.shutdownTimeout = Math.max(shutdownTimeout, 0);
+	}
+
+	/**
+	 * @return the compressedWriting
+	 */
+	public boolean isCompressedWriting()
+	{
+		return compressedWriting;
+	}
+
+	/**
+	 * @param compressedWriting
+	 *            the compressedWriting to set
+	 */
+	public void setCompressedWriting(final boolean compressedWriting)
+	{
+		this.compressedWriting = compressedWriting;
+	}
+
+	/**
+	 * @return the binaryWriting
+	 */
+	public boolean isBinaryWriting()
+	{
+		return binaryWriting;
+	}
+
+	/**
+	 * @param binaryWriting
+	 *            the binaryWriting to set
+	 */
+	public void setBinaryWriting(final boolean binaryWriting)
+	{
+		this.binaryWriting = binaryWriting;
+	}
+
+	/**
+	 * @return the journaling
+	 */
+	public boolean isJournaling()
+	{
+		return journaling;
+	}
+
+	/**
+	 * @param journaling
+	 *            the journaling to set
+	 */
+	public void setJournaling(final boolean journaling)
+	{
+		this.journaling = journaling;
+	}
+
+	/**
+	 * @return the htmlWriting
+	 */
+	public boolean isHtmlWriting()
+	{
+		return htmlWriting;
+	}
+
+	/**
+	 * Sets whether to write the HTML log file; if not, the binary log is written instead, as the HTML is formed from it.
+	 *
+	 * @param htmlWriting
+	 *            the htmlWriting to set
+	 */
+	public void setHtmlWriting(final boolean htmlWriting)
+	{
+		this.htmlWriting = htmlWriting;
+
+		if ( !htmlWriting)
+		{
+			binaryWriting = true;
+		}
+	}
+
+	/**
+	 * @return the compressionLevel
+	 */
+	public int getCompressionLevel()
+	{
+		return compressionLevel;
+	}
+
+	/**
+	 * @param compressionLevel
+	 *            the compressionLevel to set
+	 */
+	public void setCompressionLevel(final int compressionLevel)
+	{
+		this.compressionLevel = (compressionLevel == Deflater.DEFAULT_COMPRESSION) ? compressionLevel
+				: Math.max(Deflater.NO_COMPRESSION, Math.min(compressionLevel, Deflater.BEST_COMPRESSION));
+	}
+
+	/**
+	 * @return the headless
+	 */
+	public boolean isHeadless()
+	{
+		return headless;
+	}
+
+	/**
+	 * @param headless
+	 *            the headless to set
+	 */
+	public void setHeadless(final boolean headless)
+	{
+		this.headless = headless;
+	}
+
+	/**
+	 * @return the memoryMapped
+	 */
+	public boolean isMemoryMapped()
+	{
+		return memoryMapped;
+	}
+
+	/**
+	 * @param memoryMapped
+	 *            the memoryMapped to set
+	 */
+	public void setMemoryMapped(final boolean memoryMapped)
+	{
+		this.memoryMapped = memoryMapped;
+	}
+
+	//======================================================================================
+	// #endregion Getters and setters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * @return the gui
+	 */
+	public GUI getGui()
+	{
+		return gui;
+	}
+
+	Logger()
+	{
+		initStyles();
+	}
+
+}
+
+
+/**
+ * <p>
+ * A PrintStreamCapturer is passed to {@link System#setOut(PrintStream)}. It redirects the console output stream to this logger.
+ * </p>
+ * Credit: Joffrey (<a href="http://stackoverflow.com">StackOverflow</a>)
+ */
+class PrintStreamCapturer extends PrintStream
+{
+
+	private CaptureType	captureType	= OUT;
+
+	/**
+	 * The Enum CaptureType.
+	 */
+	public static enum CaptureType
+	{
+
+		/** Error. */
+		ERROR,
+
+		/** Out. */
+		OUT
+	}
+
+	public PrintStreamCapturer(final PrintStream capturedStream, final CaptureType type)
+	{
+		super(capturedStream);
+		captureType = type;
+	}
+
+	private void write(final String str)
+	{
+		if ( !Options.getInstance().isCaptureConsole())
+		{
+			return;
+		}
+
+		final String[] s = str.split("\n");
+
+		if (s.length == 0)
+		{
+			return;
+		}
+
+		for (int i = 0; i < s.length; i++)
+		{
+			if ((i >= (s.length - 1)) && s[i].equals(""))
+			{
+				continue;
+			}
+
+			if (captureType == OUT)
+			{
+				Log.getInstance().stream(s[i]);
+			}
+			else if (captureType == ERROR)
+			{
+				Log.getInstance().streamError(s[i]);
+			}
+		}
+	}
+
+	private void newLine()
+	{
+		write("\n");
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region print overloads.
+	//======================================================================================
+
+	@Override
+	public void print(final boolean b)
+	{
+		synchronized (this)
+		{
+			super.print(b);
+			write(String.valueOf(b));
+		}
+	}
+
+	@Override
+	public void print(final char c)
+	{
+		synchronized (this)
+		{
+			super.print(c);
+			write(String.valueOf(c));
+		}
+	}
+
+	@Override
+	public void print(final char[] s)
+	{
+		synchronized (this)
+		{
+			super.print(s);
+			write(String.valueOf(s));
+		}
+	}
+
+	@Override
+	public void print(final double d)
+	{
+		synchronized (this)
+		{
+			super.print(d);
+			write(String.valueOf(d));
+		}
+	}
+
+	@Override
+	public void print(final float f)
+	{
+		synchronized (this)
+		{
+			super.print(f);
+			write(String.valueOf(f));
+		}
+	}
+
+	@Override
+	public void print(final int i)
+	{
+		synchronized (this)
+		{
+			super.print(i);
+			write(String.valueOf(i));
+		}
+	}
+
+	@Override
+	public void print(final long l)
+	{
+		synchronized (this)
+		{
+			super.print(l);
+			write(String.valueOf(l));
+		}
+	}
+
+	@Override
+	public void print(final Object o)
+	{
+		synchronized (this)
+		{
+			super.print(o);
+			write(String.valueOf(o));
+		}
+	}
+
+	@Override
+	public void print(final String s)
+	{
+		synchronized (this)
+		{
+			super.print(s);
+			if (s == null)
+			{
+				write("null");
+			}
+			else
+			{
+				write(s);
+			}
+		}
+	}
+
+	@Override
+	public void println()
+	{
+		synchronized (this)
+		{
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final boolean x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final char x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final int x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final long x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final float x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final double x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final char x[])
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final String x)
+	{
+		synchronized (this)
+		{
+			print(x);
+			newLine();
+			super.println();
+		}
+	}
+
+	@Override
+	public void println(final Object x)
+	{
+		final String s = String.valueOf(x);
+		synchronized (this)
+		{
+			print(s);
+			newLine();
+			super.println();
+		}
+	}
+
+	//======================================================================================
+	// #endregion print overloads.
+	////////////////////////////////////////////////////////////////////////////////////////
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/MappedAppender.java
+ *
+ *			Modified: 17-Oct-2026 (15:11:47)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Appends to a log file by copying into a memory mapped region of it, which is mapped ahead of what's written; when it
+ * fills up, the next region is mapped. Appending is a memory copy, and what's copied is in the OS's hands right away,
+ * so it's kept even if the JVM crashes.<br />
+ * The file is longer than what's written while it's open (by up to a region, filled with zeros), so it's truncated to
+ * its real length when closed.<br />
+ * Each region is unmapped as soon as it's done with, rather than when it's collected, as a file can't be truncated
+ * while it's mapped on Windows.
+ */
+final class MappedAppender implements IAppender
+{
+
+	/* size of each mapped region. */
+	private static final int	REGION_SIZE	= 8 * 1024 * 1024;
+
+	private final FileChannel	channel;
+
+	/* current region, and where it starts in the file. */
+	private MappedByteBuffer	region;
+	private long				regionStart;
+
+	/**
+	 * Opens the file, and maps the first region after what's already in it.
+	 *
+	 * @param file
+	 *            File; must exist.
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred.
+	 */
+	MappedAppender(final Path file) throws IOException
+	{
+		channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		map(channel.size());
+	}
+
+	@Override
+	public void append(final ByteBuffer bytes) throws IOException
+	{
+		while (bytes.hasRemaining())
+		{
+			if ( !region.hasRemaining())
+			{
+				map(regionStart + REGION_SIZE);
+			}
+
+			// copy what fits in this region.
+			final int limit = bytes.limit();
+			bytes.limit(bytes.position() + Math.min(bytes.remaining(), region.remaining()));
+			region.put(bytes);
+			bytes.limit(limit);
+		}
+	}
+
+	@Override
+	public void force() throws IOException
+	{
+		region.force();
+	}
+
+	@Override
+	public long size()
+	{
+		return regionStart + region.position();
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		final long size = size();
+
+		region.force();
+		unmap(region);
+		region = null;
+
+		try
+		{
+			channel.truncate(size);
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+
+	/* map a region starting here, which grows the file to cover it; the one before is unmapped. */
+	private void map(final long start) throws IOException
+	{
+		final MappedByteBuffer previous = region;
+
+		region = channel.map(MapMode.READ_WRITE, start, REGION_SIZE);
+		regionStart = start;
+
+		if (previous != null)
+		{
+			unmap(previous);
+		}
+	}
+
+	/*
+	 * Unmap the region now; what's in it is kept by the OS. There's no API for it, so it's done through the JDK's
+	 * internals: Unsafe.invokeCleaner on Java 9 and later, or the buffer's cleaner on Java 8. If neither works, it's left
+	 * for the GC. The region must not be used afterwards.
+	 */
+	private static void unmap(final MappedByteBuffer region)
+	{
+		try
+		{
+			try
+			{
+				final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				invokeCleaner.invoke(theUnsafe.get(null), region);
+			}
+			catch (final NoSuchMethodException e)
+			{	// Java 8.
+				final Method cleanerGetter = region.getClass().getMethod("cleaner");
+				cleanerGetter.setAccessible(true);
+				final Object cleaner = cleanerGetter.invoke(region);
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		}
+		catch (final ReflectiveOperationException | RuntimeException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Markup.java
+ *
+ *			Modified: 17-Oct-2026 (13:20:44)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.util.Arrays;
+
+
+/**
+ * Parses the colouring markup of an entry: words wrapped in '`' are coloured, and '\`' is a literal '`'.<br />
+ * Instead of splitting the text, it records where each span starts and ends in the original string, and which section it
+ * belongs to. Sections are counted like the parts of 'text.split("`")': even sections are plain, odd ones are coloured.
+ * An escaped mark ends a span without starting a new section, so the span after it starts at the '`' itself.<br />
+ * Sequences, parts joined by a separator, are split the same way: parts are odd sections, and separators even ones.<br />
+ * Empty spans are skipped. Instances reuse their arrays, so parsing allocates nothing once they're big enough.
+ * Not thread-safe.
+ */
+final class Markup
+{
+
+	/** The colouring mark. */
+	static final char	MARK		= '`';
+
+	/** Put before a mark to use it literally. */
+	static final char	ESCAPE		= '\\';
+
+	/* (start, end, section) of each span. */
+	private int[]		spans		= new int[3 * 16];
+	private int			count;
+
+	/**
+	 * Parses the text, replacing the spans of the last text parsed.
+	 *
+	 * @param text
+	 *            Text.
+	 * @return the number of spans
+	 */
+	int parse(final String text)
+	{
+		return parse(text, 0, text.length());
+	}
+
+	/**
+	 * Parses a span of the text, replacing the spans of the last text parsed.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param from
+	 *            Start of the span.
+	 * @param to
+	 *            End of the span (exclusive).
+	 * @return the number of spans
+	 */
+	int parse(final String text, final int from, final int to)
+	{
+		int section = 0;
+		int start = from;
+
+		count = 0;
+
+		for (int i = from; i < to; i++)
+		{
+			if (text.charAt(i) != MARK)
+			{
+				continue;
+			}
+
+			if ((i > from) && (text.charAt(i - 1) == ESCAPE))
+			{
+				// drop the escape, and keep the mark as the start of the next span in the same section.
+				addSpan(start, i - 1, section);
+				start = i;
+			}
+			else
+			{
+				addSpan(start, i, section);
+				section++;
+				start = i + 1;
+			}
+		}
+
+		addSpan(start, to, section);
+
+		return count;
+	}
+
+	/**
+	 * Splits a span of the text into the parts between the separator, replacing the spans of the last text parsed.
+	 * Part 'n' is section '2n + 1', and the separator after it is section '2n + 2'.
+	 *
+	 * @param text
+	 *            Text.
+	 * @param from
+	 *            Start of the span.
+	 * @param to
+	 *            End of the span (exclusive).
+	 * @param separator
+	 *            Separator, taken literally.
+	 * @param blackLast
+	 *            Put the last part, if it's not the only one, in an even section.
+	 * @param removeSeparator
+	 *            Leave out the separators.
+	 * @return the number of spans
+	 */
+	int parseSequence(final String text, final int from, final int to, final String separator
+			, final boolean blackLast, final boolean removeSeparator)
+	{
+		int section = 1;
+		int start = from;
+
+		count = 0;
+
+		for (int end = separator.isEmpty() ? -1 : text.indexOf(separator, from); (end >= 0) && (end < to)
+				; end = text.indexOf(separator, start))
+		{
+			addSpan(start, end, section);
+			start = end + separator.length();
+
+			if ( !removeSeparator)
+			{
+				addSpan(end, start, section + 1);
+			}
+
+			section += 2;
+		}
+
+		addSpan(start, to, (blackLast && (section > 1)) ? (section - 1) : section);
+
+		return count;
+	}
+
+	private void addSpan(final int start, final int end, final int section)
+	{
+		if (start >= end)
+		{
+			return;
+		}
+
+		if (((count + 1) * 3) > spans.length)
+		{
+			spans = Arrays.copyOf(spans, spans.length * 2);
+		}
+
+		spans[count * 3] = start;
+		spans[(count * 3) + 1] = end;
+		spans[(count * 3) + 2] = section;
+		count++;
+	}
+
+	/**
+	 * @param index
+	 *            Index of the span.
+	 * @return where the span starts in the text
+	 */
+	int start(final int index)
+	{
+		return spans[index * 3];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the span.
+	 * @return where the span ends (exclusive) in the text
+	 */
+	int end(final int index)
+	{
+		return spans[(index * 3) + 1];
+	}
+
+	/**
+	 * @param index
+	 *            Index of the span.
+	 * @return the section the span belongs to; odd sections are the ones wrapped in marks
+	 */
+	int section(final int index)
+	{
+		return spans[(index * 3) + 2];
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/Metrics.java
+ *
+ *			Modified: 17-Oct-2026 (11:02:15)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.yagasoft.logger.Log.DurabilityPolicy;
+import com.yagasoft.logger.Log.OverflowPolicy;
+
+
+/**
+ * Counters of what happened to entries the log couldn't keep up with. Get it using {@link Log#getMetrics()}.<br />
+ * Counters are cheap to update from many threads, and only summed when read.
+ */
+public final class Metrics
+{
+
+	/* entries refused when the log was full. */
+	private final LongAdder	droppedNewest	= new LongAdder();
+
+	/* waiting entries thrown away to make room for new ones. */
+	private final LongAdder	droppedOldest	= new LongAdder();
+
+	/* entries skipped while sampling. */
+	private final LongAdder	sampledOut		= new LongAdder();
+
+	/* entries sent straight to the log file. */
+	private final LongAdder	spilled			= new LongAdder();
+
+	/* entries saved to the files, but skipped by the window, as it couldn't keep up. */
+	private final LongAdder	skippedByView	= new LongAdder();
+
+	/* entries posted after shutdown started, or still waiting when it timed out. */
+	private final LongAdder	droppedAtShutdown	= new LongAdder();
+
+	/* entries each sink had no room for; see ISink. */
+	private final Map<ISink, LongAdder>	droppedBySink	= new ConcurrentHashMap<ISink, LongAdder>();
+
+	/* times the log files were forced to the disk, and the policy deciding when. */
+	private final LongAdder				forces				= new LongAdder();
+	private volatile DurabilityPolicy	durabilityPolicy	= DurabilityPolicy.PERIODIC;
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Counting.
+	//======================================================================================
+
+	void countDroppedNewest()
+	{
+		droppedNewest.increment();
+	}
+
+	void countDroppedOldest()
+	{
+		droppedOldest.increment();
+	}
+
+	void countSampledOut()
+	{
+		sampledOut.increment();
+	}
+
+	void countSpilled()
+	{
+		spilled.increment();
+	}
+
+	void countSkippedByView()
+	{
+		skippedByView.increment();
+	}
+
+	void countDroppedAtShutdown(final long count)
+	{
+		droppedAtShutdown.add(count);
+	}
+
+	void countDroppedBySink(final ISink sink, final long count)
+	{
+		droppedBySink.computeIfAbsent(sink, key -> new LongAdder()).add(count);
+	}
+
+	void countForce()
+	{
+		forces.increment();
+	}
+
+	void setDurabilityPolicy(final DurabilityPolicy durabilityPolicy)
+	{
+		this.durabilityPolicy = durabilityPolicy;
+	}
+
+	//======================================================================================
+	// #endregion Counting.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters.
+	//======================================================================================
+
+	/**
+	 * @return the number of entries lost for any reason
+	 */
+	public long getDropped()
+	{
+		return getDroppedNewest() + getDroppedOldest() + getSampledOut() + getDroppedAtShutdown();
+	}
+
+	/**
+	 * @return the number of entries refused because the log was full
+	 */
+	public long getDroppedNewest()
+	{
+		return droppedNewest.sum();
+	}
+
+	/**
+	 * @return the number of waiting entries thrown away by {@link OverflowPolicy#DROP_OLDEST}
+	 */
+	public long getDroppedOldest()
+	{
+		return droppedOldest.sum();
+	}
+
+	/**
+	 * @return the number of entries skipped by {@link OverflowPolicy#SAMPLE}
+	 */
+	public long getSampledOut()
+	{
+		return sampledOut.sum();
+	}
+
+	/**
+	 * @return the number of entries saved to the log files, but not shown in the window, as it fell behind (e.g. while
+	 *         its scroll bar was held); these aren't counted as dropped
+	 */
+	public long getSkippedByView()
+	{
+		return skippedByView.sum();
+	}
+
+	/**
+	 * @return the number of entries posted after shutdown started, or still waiting to be written when it timed out;
+	 *         see {@link Log#shutdown()}
+	 */
+	public long getDroppedAtShutdown()
+	{
+		return droppedAtShutdown.sum();
+	}
+
+	/**
+	 * @return the number of entries spilled to the disk by {@link OverflowPolicy#SPILL_TO_DISK}, to be replayed later
+	 */
+	public long getSpilled()
+	{
+		return spilled.sum();
+	}
+
+	/**
+	 * @param sink
+	 *            Sink added to the log.
+	 * @return the number of entries the sink missed, as its queue was full, or still waiting at shutdown; these are
+	 *         still saved to the log files, so aren't counted as dropped
+	 */
+	public long getDroppedBySink(final ISink sink)
+	{
+		final LongAdder dropped = droppedBySink.get(sink);
+		return (dropped == null) ? 0 : dropped.sum();
+	}
+
+	/**
+	 * @return the number of times the log files were forced to the disk
+	 */
+	public long getForces()
+	{
+		return forces.sum();
+	}
+
+	/**
+	 * @return the policy deciding when the log files are forced to the disk
+	 */
+	public DurabilityPolicy getDurabilityPolicy()
+	{
+		return durabilityPolicy;
+	}
+
+	//======================================================================================
+	// #endregion Getters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	Metrics()
+	{}
+
+}
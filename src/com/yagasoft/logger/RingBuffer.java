@@ -0,0 +1,442 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/RingBuffer.java
+ *
+ *			Modified: 17-Oct-2026 (19:48:12)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+
+/**
+ * A pre-allocated ring of mutable slots. Any number of threads can claim and publish slots, and each consumer reads
+ * all of them in order, through its own {@link Cursor}. Claiming costs one CAS, and nothing is allocated after
+ * construction.<br />
+ * A slot is handed back to the producers once every consumer is done with it, so the slowest one sets the pace.<br />
+ * <br />
+ * Producers: {@link #claim()} (or {@link #tryClaim()}), fill {@link #get(long)}, then {@link #publish(long)}.<br />
+ * Consumers: {@link #newCursor()} once, then {@link Cursor#take()}, read the slot, and {@link Cursor#release()}.
+ *
+ * @param <T>
+ *            the slot type.
+ */
+final class RingBuffer<T>
+{
+
+	/* how long a producer parks before re-checking for room. */
+	private static final long		PARK_NANOS		= TimeUnit.MILLISECONDS.toNanos(1);
+
+	/* how long an idle consumer parks; producers wake it up on publish, so this is only a safety net. */
+	private static final long		IDLE_PARK_NANOS	= TimeUnit.MILLISECONDS.toNanos(100);
+
+	/* how many times a waiting thread yields before it starts parking. */
+	private static final int		YIELDS			= 100;
+
+	private final Object[]			slots;
+	private final int				mask;
+
+	/* sequence published in each slot; a slot is readable once it holds the sequence a consumer is waiting for. */
+	private final AtomicLongArray	published;
+
+	/* next sequence to be handed to a producer. */
+	private final AtomicLong		claimed		= new AtomicLong();
+
+	/* one per consumer; replaced as a whole when one is added, so producers can read it without locking. */
+	private volatile Cursor[]		cursors		= noCursors();
+
+	/* number of the oldest slots producers asked the consumers to throw away. */
+	private final AtomicLong		discards		= new AtomicLong();
+
+	/* per slot, the last sequence a consumer kept ({@link Cursor#keep()}), or threw away (encoded by discarded()). */
+	private final AtomicLongArray	fates;
+
+	/**
+	 * Instantiates a new ring buffer, and fills all its slots up front.
+	 *
+	 * @param capacity
+	 *            Capacity; rounded up to a power of two.
+	 * @param factory
+	 *            Factory for the slots.
+	 */
+	RingBuffer(final int capacity, final Supplier<T> factory)
+	{
+		final int size = (capacity <= 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+
+		slots = new Object[size];
+		mask = size - 1;
+		published = new AtomicLongArray(size);
+		fates = new AtomicLongArray(size);
+
+		for (int i = 0; i < size; i++)
+		{
+			slots[i] = factory.get();
+			published.set(i, -1);
+			fates.set(i, -1);
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Producer side.
+	//======================================================================================
+
+	/**
+	 * Claims the next slot, waiting for the consumer to free one if the ring is full.
+	 *
+	 * @return the sequence of the slot claimed
+	 */
+	long claim()
+	{
+		long sequence;
+		int attempts = 0;
+
+		while ((sequence = tryClaim()) < 0)
+		{
+			backOff(attempts++);
+		}
+
+		return sequence;
+	}
+
+	/**
+	 * Claims the next slot if the ring has room.
+	 *
+	 * @return the sequence of the slot claimed, or -1 if the ring is full
+	 */
+	long tryClaim()
+	{
+		long current;
+
+		do
+		{
+			current = claimed.get();
+
+			if ((current - consumed()) >= slots.length)
+			{
+				return -1;
+			}
+		}
+		while ( !claimed.compareAndSet(current, current + 1));
+
+		return current;
+	}
+
+	/**
+	 * Gets the slot for this sequence.
+	 *
+	 * @param sequence
+	 *            Sequence, as returned by {@link #claim()}.
+	 * @return the slot
+	 */
+	@SuppressWarnings("unchecked")
+	T get(final long sequence)
+	{
+		return (T) slots[(int) sequence & mask];
+	}
+
+	/**
+	 * Makes the claimed slot visible to the consumer.
+	 *
+	 * @param sequence
+	 *            Sequence, as returned by {@link #claim()}.
+	 */
+	void publish(final long sequence)
+	{
+		published.set((int) sequence & mask, sequence);
+
+		for (final Cursor cursor : cursors)
+		{
+			if (cursor.waiting)
+			{
+				LockSupport.unpark(cursor.consumer);
+			}
+		}
+	}
+
+	/**
+	 * Asks the consumers to throw away the oldest slot waiting that none of them has kept yet, to make room when the
+	 * ring is full; the slowest consumer then skips it. The consumer furthest ahead serves the request using
+	 * {@link #takeDiscard()} and {@link Cursor#discard()}; see {@link Cursor#isKept()}.
+	 */
+	void discardOldest()
+	{
+		discards.incrementAndGet();
+	}
+
+	/**
+	 * Takes one of the requests made by {@link #discardOldest()}, if any. A consumer calls this to serve a request, and a
+	 * producer calls this to withdraw its own if it no longer needs it.
+	 *
+	 * @return true, if a request was pending
+	 */
+	boolean takeDiscard()
+	{
+		long current;
+
+		do
+		{
+			current = discards.get();
+
+			if (current <= 0)
+			{
+				return false;
+			}
+		}
+		while ( !discards.compareAndSet(current, current - 1));
+
+		return true;
+	}
+
+	//======================================================================================
+	// #endregion Producer side.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Consumer side.
+	//======================================================================================
+
+	/**
+	 * Adds a consumer, which reads the slots published from now on. Its slots aren't handed back to producers until it
+	 * releases them, so it must keep taking them for as long as the ring is used.
+	 *
+	 * @return the cursor of the new consumer
+	 */
+	synchronized Cursor newCursor()
+	{
+		final Cursor cursor = new Cursor(claimed.get());
+		final Cursor[] added = Arrays.copyOf(cursors, cursors.length + 1);
+		added[cursors.length] = cursor;
+		cursors = added;
+
+		return cursor;
+	}
+
+	/**
+	 * Where a consumer is in the ring, and what it's waiting for. Each is used by a single thread.
+	 */
+	final class Cursor
+	{
+
+		/* next sequence to be read by this consumer; everything before it is done with. */
+		private volatile long		consumed;
+
+		private volatile Thread		consumer;
+		private volatile boolean	waiting;
+
+		private Cursor(final long start)
+		{
+			consumed = start;
+		}
+
+		/**
+		 * Waits for the next slot in order to be published, and returns it. The slot stays reserved until
+		 * {@link #release()}.
+		 *
+		 * @return the slot
+		 * @throws InterruptedException
+		 *             if interrupted while waiting
+		 */
+		T take() throws InterruptedException
+		{
+			final long sequence = consumed;
+			final int index = (int) sequence & mask;
+
+			if (consumer == null)
+			{
+				consumer = Thread.currentThread();
+			}
+
+			for (int attempts = 0; published.get(index) != sequence; attempts++)
+			{
+				if (attempts < YIELDS)
+				{
+					Thread.yield();
+					continue;
+				}
+
+				waiting = true;
+
+				// re-check after announcing, so a publish in between is not missed.
+				if (published.get(index) != sequence)
+				{
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+
+				waiting = false;
+
+				if (Thread.interrupted())
+				{
+					throw new InterruptedException();
+				}
+			}
+
+			return get(sequence);
+		}
+
+		/**
+		 * Throws away the slot returned by {@link #take()} for all consumers, if none has kept it yet
+		 * ({@link #keep()}); the others skip it when they get to it. Release it afterwards as usual.
+		 *
+		 * @return true, if thrown away; false if another consumer has kept it, or thrown it away, already
+		 */
+		boolean discard()
+		{
+			final long sequence = consumed;
+			final int index = (int) sequence & mask;
+			long fate;
+
+			do
+			{
+				fate = fates.get(index);
+
+				if ((fate == sequence) || (fate == discarded(sequence)))
+				{
+					return false;
+				}
+			}
+			while ( !fates.compareAndSet(index, fate, discarded(sequence)));
+
+			return true;
+		}
+
+		/**
+		 * Keeps the slot returned by {@link #take()}, so it can no longer be thrown away by {@link #discard()}.
+		 * Consumers that must all see the same slots call this before reading each.
+		 *
+		 * @return true, if kept; false if it was thrown away, so the consumer should skip it
+		 */
+		boolean keep()
+		{
+			final long sequence = consumed;
+			final int index = (int) sequence & mask;
+			long fate;
+
+			do
+			{
+				fate = fates.get(index);
+
+				if (fate == sequence)
+				{
+					return true;
+				}
+
+				if (fate == discarded(sequence))
+				{
+					return false;
+				}
+			}
+			while ( !fates.compareAndSet(index, fate, sequence));
+
+			return true;
+		}
+
+		/**
+		 * @return true, if another consumer has kept the slot returned by {@link #take()} already, so it can't be
+		 *         thrown away; false if this consumer is the first to get to it
+		 */
+		boolean isKept()
+		{
+			final long sequence = consumed;
+			return fates.get((int) sequence & mask) == sequence;
+		}
+
+		/**
+		 * @return true, if the slot returned by {@link #take()} was thrown away by {@link #discard()}; for consumers
+		 *         that don't {@link #keep()}, and so may still see a slot that's thrown away after they read it
+		 */
+		boolean isDiscarded()
+		{
+			final long sequence = consumed;
+			return fates.get((int) sequence & mask) == discarded(sequence);
+		}
+
+		/**
+		 * Done with the slot returned by {@link #take()}; it's handed back to the producers once all consumers are.
+		 */
+		void release()
+		{
+			consumed = consumed + 1;
+		}
+
+		/**
+		 * @return the number of slots claimed that this consumer hasn't released yet; a hint only
+		 */
+		int lag()
+		{
+			return (int) (claimed.get() - consumed);
+		}
+
+	}
+
+	//======================================================================================
+	// #endregion Consumer side.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	/* yield for a while first, as the wait is usually short, then park to stop burning the CPU. */
+	private void backOff(final int attempts)
+	{
+		if (attempts < YIELDS)
+		{
+			Thread.yield();
+		}
+		else
+		{
+			LockSupport.parkNanos(this, PARK_NANOS);
+		}
+	}
+
+	/* an empty array of cursors; the array has to be created with a wildcard, as a generic one can't be. */
+	@SuppressWarnings("unchecked")
+	private Cursor[] noCursors()
+	{
+		return (Cursor[]) new RingBuffer<?>.Cursor[0];
+	}
+
+	/* the fate of a sequence thrown away; never a sequence, nor the initial -1. */
+	private static long discarded(final long sequence)
+	{
+		return -sequence - 2;
+	}
+
+	/* the next sequence the slowest consumer is to read; everything before it is free for producers. */
+	private long consumed()
+	{
+		long slowest = claimed.get();
+
+		for (final Cursor cursor : cursors)
+		{
+			slowest = Math.min(slowest, cursor.consumed);
+		}
+
+		return slowest;
+	}
+
+	/**
+	 * @return the number of slots claimed and not yet released by all consumers; a hint only, as it changes all the time
+	 */
+	int size()
+	{
+		return (int) (claimed.get() - consumed());
+	}
+
+	/**
+	 * @return the number of slots, always a power of two
+	 */
+	int capacity()
+	{
+		return slots.length;
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/SinkRunner.java
+ *
+ *			Modified: 17-Oct-2026 (20:52:30)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Runs an {@link ISink} on a thread of its own, passing it the entries queued in batches.
+ * Queuing never waits: the entries the sink has no room for are counted, and left out.
+ */
+final class SinkRunner
+{
+
+	/* how long to wait (millis) at shutdown for the sink to return from the batch it's stopped in. */
+	private static final long					STOP_WAIT_MILLIS	= 1000;
+
+	private final ISink							sink;
+	private final Metrics						metrics;
+
+	private final ArrayBlockingQueue<LogEvent>	queue;
+	private final int							batchSize;
+	private final List<LogEvent>				batch;
+
+	/* entries queued, or in the batch the sink has; counted from the moment they're queued until the batch returns. */
+	private final AtomicInteger					pending				= new AtomicInteger();
+
+	/* set at shutdown; nothing is queued after, and the thread stops. */
+	private volatile boolean					closed;
+
+	private Thread								thread;
+
+	SinkRunner(final ISink sink, final Metrics metrics)
+	{
+		this.sink = sink;
+		this.metrics = metrics;
+		queue = new ArrayBlockingQueue<LogEvent>(Math.max(sink.getQueueCapacity(), 1));
+		batchSize = Math.max(sink.getBatchSize(), 1);
+		batch = new ArrayList<LogEvent>(batchSize);
+	}
+
+	/* start the sink, then its thread. */
+	void start()
+	{
+		try
+		{
+			sink.start();
+		}
+		catch (final Exception e)
+		{
+			e.printStackTrace();
+		}
+
+		thread = new Thread(() ->
+		{
+			while ( !closed)
+			{
+				passBatch();
+			}
+		}, "Logger sink " + sink.getClass().getName());
+
+		thread.start();
+	}
+
+	/* queue the entry for the sink, if it has room. */
+	void offer(final LogEvent event)
+	{
+		if (closed)
+		{
+			metrics.countDroppedBySink(sink, 1);
+			return;
+		}
+
+		// counted before it's queued, so it's never taken without being counted.
+		pending.incrementAndGet();
+
+		if ( !queue.offer(event))
+		{
+			pending.decrementAndGet();
+			metrics.countDroppedBySink(sink, 1);
+		}
+	}
+
+	private void passBatch()
+	{
+		try
+		{
+			batch.add(queue.take());
+			queue.drainTo(batch, batchSize - 1);
+			sink.onBatch(batch);
+
+			if (queue.isEmpty())
+			{
+				sink.flush();
+			}
+		}
+		catch (final InterruptedException e)
+		{
+			// stopped by close().
+			if ( !closed)
+			{
+				e.printStackTrace();
+			}
+		}
+		catch (final Exception e)
+		{
+			e.printStackTrace();
+		}
+		finally
+		{
+			pending.addAndGet(-batch.size());
+			batch.clear();
+		}
+	}
+
+	/* entries queued, or in the batch the sink has now. */
+	int left()
+	{
+		return pending.get();
+	}
+
+	/*
+	 * stop queuing, stop the thread, then close the sink; what's left is counted as dropped.
+	 * if the sink doesn't return from its batch in time, it's left open, rather than closed while it's in use.
+	 */
+	void close()
+	{
+		closed = true;
+		thread.interrupt();
+
+		try
+		{
+			thread.join(STOP_WAIT_MILLIS);
+		}
+		catch (final InterruptedException e)
+		{
+			e.printStackTrace();
+		}
+
+		metrics.countDroppedBySink(sink, left());
+
+		if (thread.isAlive())
+		{
+			return;
+		}
+
+		try
+		{
+			sink.close();
+		}
+		catch (final Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+}
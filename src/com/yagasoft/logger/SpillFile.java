@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/SpillFile.java
+ *
+ *			Modified: 17-Oct-2026 (23:58:20)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+
+/**
+ * Holds the entries that found no room in the ring, in a memory-mapped file used as a ring of its own, and replays
+ * them, in order, on a thread of its own, as the ring makes room; see {@link Log.OverflowPolicy#SPILL_TO_DISK}.<br />
+ * While anything is spilled, entries posted after it are spilled as well, so they're not written before it.
+ * Spilling only copies the entry into the mapping, so the producers never wait for the sinks; the heap doesn't grow
+ * however long the burst, and the file is bounded: an entry that doesn't fit is dropped.<br />
+ * <br />
+ * <pre>
+ * record: length of the body (int), time in microseconds since the epoch (long), position in the journal (long),
+ *         body ({@link BinaryLog#encode(Entry)})
+ * </pre>
+ * A record that doesn't fit before the end of the file starts at its beginning, after a length of -1 (if there's room
+ * for it). The file is replaced each session; nothing in it is kept. It's locked while in use, so if another process
+ * holds it, a file of the session's own is used instead, and deleted on exit.
+ */
+final class SpillFile
+{
+
+	/** Size of the file; bounds what a burst can spill. */
+	static final int				CAPACITY		= 64 * 1024 * 1024;
+
+	/*
+	 * length, time, and journal position of a record; and the largest record taken, so a few big ones don't take the
+	 * whole file.
+	 */
+	private static final int		RECORD_HEAD		= 4 + 8 + 8;
+	private static final int		MAX_RECORD		= CAPACITY / 16;
+
+	/* marks the rest of the file as unused; the next record is at its beginning. */
+	private static final int		WRAP			= -1;
+
+	/* how long the replayer parks when there's nothing to replay; spilling wakes it up, so it's only a safety net. */
+	private static final long		IDLE_PARK_NANOS	= TimeUnit.MILLISECONDS.toNanos(100);
+
+	private final Path				file;
+
+	/* takes each entry replayed, waiting for room in the ring if need be. */
+	private final Consumer<Entry>	target;
+
+	/* mapped on the first spill, so nothing is created for a log that never overflows. */
+	private MappedByteBuffer		mapping;
+
+	/* kept open, so the lock on the file is held for the session. */
+	private FileChannel				channel;
+	private final BinaryLog			encoder			= new BinaryLog();
+
+	/* where the next record goes, and where the next to replay is, in bytes since the start; they only go up. */
+	private volatile long			written;
+	private volatile long			replayed;
+
+	/* entries spilled, and replayed; only the spilling, and the replaying, thread respectively update them. */
+	private volatile long			spilledCount;
+	private volatile long			replayedCount;
+
+	private Thread					replayer;
+	private volatile boolean		replayerWaiting;
+
+	/* the replayer's own view of the mapping, and what it decodes the records with. */
+	private ByteBuffer				reader;
+	private final BinaryLogReader	decoder			= new BinaryLogReader();
+	private byte[]					body			= new byte[1024];
+
+	/**
+	 * Instantiates a new spill file; nothing is created until something is spilled.
+	 *
+	 * @param file
+	 *            File to map; replaced if it exists, unless another process holds it.
+	 * @param target
+	 *            Takes each entry replayed, on the replaying thread, waiting for room in the ring if need be; the entry
+	 *            is only valid during the call.
+	 */
+	SpillFile(final Path file, final Consumer<Entry> target)
+	{
+		this.file = file;
+		this.target = target;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Spilling.
+	//======================================================================================
+
+	/**
+	 * Spills the entry to the end of the file, without waiting for anything but other threads spilling.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return true, if spilled; false if there's no room, or no file
+	 */
+	synchronized boolean offer(final Entry entry)
+	{
+		if ((mapping == null) && !map())
+		{
+			return false;
+		}
+
+		final BinaryLog.Record record = encoder.encode(entry);
+		final int size = RECORD_HEAD + record.body.length;
+
+		if (size > MAX_RECORD)
+		{
+			return false;
+		}
+
+		// the record doesn't fit before the end, so it goes at the beginning.
+		int physical = (int) (written % CAPACITY);
+		final int skipped = ((CAPACITY - physical) < size) ? (CAPACITY - physical) : 0;
+
+		if (((written - replayed) + skipped + size) > CAPACITY)
+		{
+			return false;
+		}
+
+		if (skipped > 0)
+		{
+			if (skipped >= 4)
+			{
+				mapping.putInt(physical, WRAP);
+			}
+
+			physical = 0;
+		}
+
+		mapping.putInt(physical, record.body.length);
+		mapping.putLong(physical + 4, record.time);
+		mapping.putLong(physical + 12, entry.getJournalPosition());
+
+		final ByteBuffer body = mapping.duplicate();
+		body.position(physical + RECORD_HEAD);
+		body.put(record.body);
+
+		// publish it to the replayer.
+		spilledCount++;
+		written += skipped + size;
+
+		if (replayerWaiting)
+		{
+			LockSupport.unpark(replayer);
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return true, if there are entries spilled that aren't replayed yet; entries posted meanwhile should follow them
+	 */
+	boolean isSpilling()
+	{
+		return written != replayed;
+	}
+
+	/**
+	 * @return the number of entries spilled that aren't replayed yet
+	 */
+	int left()
+	{
+		return (int) (spilledCount - replayedCount);
+	}
+
+	/* create the file, lock it, map it, and start the replayer; false if the file can't be created. */
+	private boolean map()
+	{
+		try
+		{
+			Files.createDirectories(file.getParent());
+			channel = lock(file);
+
+			// another process spills to the file, so this session takes one of its own.
+			if (channel == null)
+			{
+				final String name = file.getFileName().toString();
+				final int dot = name.lastIndexOf('.');
+				final Path own = Files.createTempFile(file.getParent(), name.substring(0, dot) + "-", name.substring(dot));
+				own.toFile().deleteOnExit();
+				channel = lock(own);
+			}
+
+			if (channel == null)
+			{
+				return false;
+			}
+
+			channel.truncate(0);
+			mapping = channel.map(MapMode.READ_WRITE, 0, CAPACITY);
+		}
+		catch (final IOException e)
+		{
+			e.printStackTrace();
+			return false;
+		}
+
+		replayer = new Thread(() ->
+		{
+			while (true)
+			{
+				replay();
+			}
+		});
+
+		replayer.start();
+
+		return true;
+	}
+
+	/* open the file, and lock it for this process; null if another process, or another log in this one, holds it. */
+	private static FileChannel lock(final Path path) throws IOException
+	{
+		final FileChannel opened = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ
+				, StandardOpenOption.WRITE);
+
+		try
+		{
+			if (opened.tryLock() != null)
+			{
+				return opened;
+			}
+		}
+		catch (final OverlappingFileLockException e)
+		{	// held by this process.
+		}
+		catch (final IOException e)
+		{
+			opened.close();
+			throw e;
+		}
+
+		opened.close();
+		return null;
+	}
+
+	//======================================================================================
+	// #endregion Spilling.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Replaying.
+	//======================================================================================
+
+	/* replay the next record, or wait for one. */
+	private void replay()
+	{
+		if ( !isSpilling())
+		{
+			replayerWaiting = true;
+
+			// re-check after announcing, so something spilled in between is not missed.
+			if ( !isSpilling())
+			{
+				LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+			}
+
+			replayerWaiting = false;
+			return;
+		}
+
+		if (reader == null)
+		{
+			reader = mapping.duplicate();
+		}
+
+		final int physical = (int) (replayed % CAPACITY);
+
+		// the rest of the file is unused; the next record is at the beginning.
+		if (((CAPACITY - physical) < RECORD_HEAD) || (reader.getInt(physical) == WRAP))
+		{
+			replayed += CAPACITY - physical;
+			return;
+		}
+
+		final int length = reader.getInt(physical);
+		final long time = reader.getLong(physical + 4);
+		final long journalPosition = reader.getLong(physical + 12);
+
+		if (length > body.length)
+		{
+			body = new byte[Math.max(length, body.length * 2)];
+		}
+
+		reader.position(physical + RECORD_HEAD);
+		reader.get(body, 0, length);
+
+		try
+		{
+			final Entry entry = decoder.decode(body, length, time);
+			entry.setJournalPosition(journalPosition);
+			target.accept(entry);
+		}
+		catch (final IOException | RuntimeException e)
+		{	// only this log writes the file, so it's a bug; skip the entry.
+			e.printStackTrace();
+		}
+
+		// freed only after it's in the ring, so entries posted after it aren't let ahead of it.
+		replayedCount++;
+		replayed += RECORD_HEAD + length;
+	}
+
+	//======================================================================================
+	// #endregion Replaying.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+}
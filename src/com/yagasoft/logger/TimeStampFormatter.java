@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger/TimeStampFormatter.java
+ *
+ *			Modified: 17-Oct-2026 (23:06:40)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger;
+
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import com.yagasoft.logger.Log.TimePrecision;
+
+
+/**
+ * Formats time stamps taken by {@link Clock#now()} into the date and time shown at the start of each entry.<br />
+ * The date and the time down to the second are only formatted once per second, and reused for all entries within it;
+ * only the fraction of the second, if any, is added per entry.<br />
+ * Not thread-safe: each thread writing entries should have its own.
+ */
+final class TimeStampFormatter
+{
+
+	/** Returned by {@link #parse(String)} if the text doesn't start with a time stamp. */
+	static final long				NOT_TIME_STAMP	= Long.MIN_VALUE;
+
+	private final Logger			logger;
+
+	/* precision and time zone the cache was formed using; the cache is reset when they change. */
+	private TimePrecision			precision;
+	private TimeZone				timeZone;
+
+	private final SimpleDateFormat	dateFormat		= new SimpleDateFormat("dd/MMM/yy ");
+	private final SimpleDateFormat	timeFormat		= new SimpleDateFormat("hh:mm:ss");
+	private final SimpleDateFormat	amPmFormat		= new SimpleDateFormat(" aa ");
+	private final Date				date			= new Date();
+
+	/* time up to the second, to find where the fraction starts; then the time with the fraction taken out. */
+	private SimpleDateFormat		secondParser;
+	private SimpleDateFormat		timeParser;
+
+	/* second that the cache below belongs to. */
+	private long					cachedSecond	= Long.MIN_VALUE;
+
+	private String					cachedDate;
+	private String					cachedTime;
+
+	/* time up to the second, then room for the fraction and the AM/PM. */
+	private final char[]			buffer			= new char[32];
+	private int						prefixLength;
+	private String					amPm;
+
+	/**
+	 * Instantiates a new time stamp formatter.
+	 *
+	 * @param logger
+	 *            Logger to take the precision and time zone from.
+	 */
+	TimeStampFormatter(final Logger logger)
+	{
+		this.logger = logger;
+	}
+
+	/**
+	 * Formats the date.
+	 *
+	 * @param micros
+	 *            Time in microseconds since the epoch.
+	 * @return the date, followed by a space
+	 */
+	String formatDate(final long micros)
+	{
+		update(micros);
+		return cachedDate;
+	}
+
+	/**
+	 * Appends the time, with a fraction of the second if the precision is finer than seconds; nothing is allocated.
+	 *
+	 * @param micros
+	 *            Time in microseconds since the epoch.
+	 * @param builder
+	 *            Builder to append to.
+	 * @return the builder, with the time appended, followed by a space
+	 */
+	StringBuilder formatTime(final long micros, final StringBuilder builder)
+	{
+		update(micros);
+
+		if (precision == TimePrecision.SECONDS)
+		{
+			return builder.append(cachedTime);
+		}
+
+		int length = prefixLength;
+		buffer[length++] = '.';
+
+		// fraction of the second, padded with zeros.
+		final boolean inMicros = precision == TimePrecision.MICROSECONDS;
+		final long fraction = inMicros ? Math.floorMod(micros, 1000000) : (Math.floorMod(micros, 1000000) / 1000);
+
+		for (long divisor = inMicros ? 100000 : 100; divisor > 0; divisor /= 10)
+		{
+			buffer[length++] = (char) ('0' + ((fraction / divisor) % 10));
+		}
+
+		amPm.getChars(0, amPm.length(), buffer, length);
+		length += amPm.length();
+
+		return builder.append(buffer, 0, length);
+	}
+
+	/**
+	 * Parses the time stamp at the start of a line of the text log, as formed by {@link #formatDate(long)} and
+	 * {@link #formatTime(long, StringBuilder)}, in the current time zone; of any precision.
+	 *
+	 * @param text
+	 *            Text; only its start is read.
+	 * @return the time in microseconds since the epoch, or {@link #NOT_TIME_STAMP} if the text doesn't start with one
+	 */
+	long parse(final String text)
+	{
+		if (secondParser == null)
+		{
+			secondParser = new SimpleDateFormat(dateFormat.toPattern() + timeFormat.toPattern());
+			timeParser = new SimpleDateFormat(dateFormat.toPattern() + timeFormat.toPattern() + amPmFormat.toPattern());
+			secondParser.setLenient(false);
+			timeParser.setLenient(false);
+		}
+
+		secondParser.setTimeZone(logger.getTimeZone());
+		timeParser.setTimeZone(logger.getTimeZone());
+
+		final ParsePosition position = new ParsePosition(0);
+
+		if (secondParser.parse(text, position) == null)
+		{
+			return NOT_TIME_STAMP;
+		}
+
+		// fraction of the second, if any, of three or six digits.
+		final int secondEnd = position.getIndex();
+		int fractionEnd = secondEnd;
+		long fraction = 0;
+
+		if ((fractionEnd < text.length()) && (text.charAt(fractionEnd) == '.'))
+		{
+			fractionEnd++;
+
+			while ((fractionEnd < text.length()) && Character.isDigit(text.charAt(fractionEnd)))
+			{
+				fraction = (fraction * 10) + (text.charAt(fractionEnd++) - '0');
+			}
+
+			final int digits = fractionEnd - secondEnd - 1;
+
+			if ((digits != 3) && (digits != 6))
+			{
+				return NOT_TIME_STAMP;
+			}
+
+			fraction *= (digits == 3) ? 1000 : 1;
+		}
+
+		position.setIndex(0);
+		final Date parsed = timeParser.parse(text.substring(0, secondEnd) + text.substring(fractionEnd), position);
+
+		return (parsed == null) ? NOT_TIME_STAMP : ((parsed.getTime() * 1000) + fraction);
+	}
+
+	/* re-form the cached parts if it's a new second, or the settings changed. */
+	private void update(final long micros)
+	{
+		final long second = Math.floorDiv(micros, 1000000);
+		final TimePrecision currentPrecision = logger.getTimePrecision();
+		final TimeZone currentTimeZone = logger.getTimeZone();
+
+		if ((second == cachedSecond) && (currentPrecision == precision) && (currentTimeZone == timeZone))
+		{
+			return;
+		}
+
+		if (currentTimeZone != timeZone)
+		{
+			dateFormat.setTimeZone(currentTimeZone);
+			timeFormat.setTimeZone(currentTimeZone);
+			amPmFormat.setTimeZone(currentTimeZone);
+		}
+
+		precision = currentPrecision;
+		timeZone = currentTimeZone;
+		cachedSecond = second;
+
+		date.setTime(second * 1000);
+		cachedDate = dateFormat.format(date);
+
+		final String time = timeFormat.format(date);
+		amPm = amPmFormat.format(date);
+		cachedTime = time + amPm;
+
+		time.getChars(0, time.length(), buffer, 0);
+		prefixLength = time.length();
+	}
+
+}
@@ -1,327 +1,338 @@
-/*
- * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
- *
- *		The Modified MIT Licence (GPL v3 compatible)
- * 			Licence terms are in a separate file (LICENCE.md)
- *
- *		Project/File: Logger/com.yagasoft.logger.menu.panels.option/Options.java
- *
- *			Modified: 28-Jul-2014 (04:38:39)
- *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
- */
-
-package com.yagasoft.logger.menu.panels.option;
-
-
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
-import com.yagasoft.logger.GUI;
-import com.yagasoft.logger.Log;
-
-
-/**
- * Options class holds the options to be set in the application. When first instantiated, it holds the default options.
- * It can read the options set in the application, and apply the ones set here to the application.
- * Please remember to add an entry in {@link OptionsPanel#applyOptions()} for any new options added here.
- */
-public final class Options implements Serializable
-{
-
-	private static final long			serialVersionUID	= 2892595292752232935L;
-
-	/* where the logs will be stored relative to project path. */
-	private static transient final Path	OPTIONS_FILE		= Paths.get(System.getProperty("user.dir") + "/var/options.dat");
-
-	private static Options				instance;
-
-	/** Number of entries. */
-	private Integer						numberOfEntries		= 500;
-
-	/** Font size. */
-	private Integer						fontSize			= 12;
-
-	/** Wrap. */
-	private Boolean						wrap				= false;
-
-	/** Hide on close. */
-	private Boolean						hideOnClose			= true;
-
-	/** Show only errors. */
-	private Boolean						showOnlyErrors		= false;
-
-	/** Capture console. */
-	private Boolean						captureConsole		= true;
-
-	/** Last directory. */
-	private String						lastDirectory		= System.getProperty("user.home");
-
-	/**
-	 * Collect options from all over the application.
-	 */
-	public void collectOptions()
-	{
-		numberOfEntries = getNumberOfEntries();
-		fontSize = getFontSize();
-		wrap = isWrap();
-		hideOnClose = isHideOnClose();
-		showOnlyErrors = isShowOnlyErrors();
-		captureConsole = isCaptureConsole();
-		lastDirectory = getLastDirectory();
-	}
-
-	/**
-	 * Apply options set to the application.
-	 */
-	public void applyOptions()
-	{
-		setNumberOfEntries(numberOfEntries);
-		setFontSize(fontSize);
-		setWrap(wrap);
-		setHideOnClose(hideOnClose);
-		setShowOnlyErrors(showOnlyErrors);
-		setCaptureConsole(captureConsole);
-	}
-
-	/**
-	 * Load options from disk.
-	 */
-	public void loadOptions()
-	{
-		if (Files.notExists(OPTIONS_FILE))
-		{
-			applyOptions();
-			return;
-		}
-
-		try
-		{
-			synchronized (this)
-			{
-				final FileInputStream fileStream = new FileInputStream(OPTIONS_FILE.toString());
-				final ObjectInputStream objectStream = new ObjectInputStream(fileStream);
-				instance = (Options) objectStream.readObject();
-				objectStream.close();
-				fileStream.close();
-			}
-
-			instance.applyOptions();
-		}
-		catch (ClassNotFoundException | IOException e)
-		{
-			e.printStackTrace();
-		}
-	}
-
-	/**
-	 * Save options to disk.
-	 */
-	public void saveOptions()
-	{
-		collectOptions();
-
-		try
-		{
-			synchronized (this)
-			{
-				final FileOutputStream fileStream = new FileOutputStream(OPTIONS_FILE.toString());
-				final ObjectOutputStream objectStream = new ObjectOutputStream(fileStream);
-				objectStream.writeObject(instance);
-				objectStream.close();
-				fileStream.close();
-			}
-		}
-		catch (IOException e)
-		{
-			e.printStackTrace();
-		}
-	}
-
-	/**
-	 * Gets the single instance of Options.
-	 *
-	 * @return single instance of Options
-	 */
-	public static Options getInstance()
-	{
-		synchronized (Options.class)
-		{
-			if (instance == null)
-			{
-				instance = new Options();
-			}
-
-			return instance;
-		}
-	}
-
-	////////////////////////////////////////////////////////////////////////////////////////
-	// #region Getters and setters.
-	//======================================================================================
-
-	/**
-	 * @return the numberOfEntries
-	 */
-	public Integer getNumberOfEntries()
-	{
-		return numberOfEntries;
-	}
-
-	/**
-	 * @param numberOfEntries
-	 *            the numberOfEntries to set
-	 */
-	public void setNumberOfEntries(final Integer numberOfEntries)
-	{
-		if ( !Log.getInstance().isInitialised() || (this.numberOfEntries == numberOfEntries))
-		{
-			this.numberOfEntries = numberOfEntries;
-			return;
-		}
-
-		this.numberOfEntries = numberOfEntries;
-
-		GUI.getInstance().trimLog();
-	}
-
-	/**
-	 * @return the fontSize
-	 */
-	public Integer getFontSize()
-	{
-		return fontSize;
-	}
-
-	/**
-	 * @param fontSize
-	 *            the fontSize to set
-	 */
-	public void setFontSize(final Integer fontSize)
-	{
-		if ((fontSize >= 10) && (fontSize <= 25))
-		{
-			if ( !Log.getInstance().isInitialised() || (this.fontSize == fontSize))
-			{
-				this.fontSize = fontSize;
-				return;
-			}
-
-			this.fontSize = fontSize;
-
-			GUI.getInstance().setFontSize(fontSize);
-		}
-	}
-
-	/**
-	 * @return the wrap
-	 */
-	public boolean isWrap()
-	{
-		return wrap;
-	}
-
-	/**
-	 * @param wrap
-	 *            the wrap to set
-	 */
-	public void setWrap(final boolean wrap)
-	{
-		if ( !Log.getInstance().isInitialised() || (this.wrap == wrap))
-		{
-			this.wrap = wrap;
-			return;
-		}
-
-		this.wrap = wrap;
-
-		GUI.getInstance().setWrap(wrap);
-	}
-
-	/**
-	 * @return the hideOnClose
-	 */
-	public boolean isHideOnClose()
-	{
-		return hideOnClose;
-	}
-
-	/**
-	 * @param hideOnClose
-	 *            the hideOnClose to set
-	 */
-	public void setHideOnClose(final boolean hideOnClose)
-	{
-		this.hideOnClose = hideOnClose;
-		GUI.getInstance().setHideOnClose(hideOnClose);
-	}
-
-	/**
-	 * @return the showOnlyErrors
-	 */
-	public boolean isShowOnlyErrors()
-	{
-		return showOnlyErrors;
-	}
-
-	/**
-	 * @param showOnlyErrors
-	 *            the showOnlyErrors to set
-	 */
-	public void setShowOnlyErrors(final boolean showOnlyErrors)
-	{
-		this.showOnlyErrors = showOnlyErrors;
-	}
-
-	/**
-	 * @return the captureConsole
-	 */
-	public boolean isCaptureConsole()
-	{
-		return captureConsole;
-	}
-
-	/**
-	 * @param captureConsole
-	 *            the captureConsole to set
-	 */
-	public void setCaptureConsole(final boolean captureConsole)
-	{
-		if ((this.captureConsole != captureConsole) && captureConsole)
-		{
-			Log.getInstance().captureSysOut();
-		}
-
-		this.captureConsole = captureConsole;
-	}
-
-	/**
-	 * @return the lastDirectory
-	 */
-	public String getLastDirectory()
-	{
-		return lastDirectory;
-	}
-
-	/**
-	 * @param lastDirectory
-	 *            the lastDirectory to set
-	 */
-	public void setLastDirectory(final String lastDirectory)
-	{
-		this.lastDirectory = lastDirectory;
-	}
-
-	//======================================================================================
-	// #endregion Getters and setters.
-	////////////////////////////////////////////////////////////////////////////////////////
-
-	private Options()
-	{}
-}
+/*
+ * Copyright (C) 2011-2014 by Ahmed Osama el-Sawalhy
+ *
+ *		The Modified MIT Licence (GPL v3 compatible)
+ * 			Licence terms are in a separate file (LICENCE.md)
+ *
+ *		Project/File: Logger/com.yagasoft.logger.menu.panels.option/Options.java
+ *
+ *			Modified: 28-Jul-2014 (04:38:39)
+ *			   Using: Eclipse J-EE / JDK 8 / Windows 8.1 x64
+ */
+
+package com.yagasoft.logger.menu.panels.option;
+
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.yagasoft.logger.GUI;
+import com.yagasoft.logger.Log;
+
+
+/**
+ * Options class holds the options to be set in the application. When first instantiated, it holds the default options.
+ * It can read the options set in the application, and apply the ones set here to the application.
+ * Please remember to add an entry in {@link OptionsPanel#applyOptions()} for any new options added here.
+ */
+public final class Options implements Serializable
+{
+
+	private static final long			serialVersionUID	= 2892595292752232935L;
+
+	/* where the logs will be stored relative to project path. */
+	private static transient final Path	OPTIONS_FILE		= Paths.get(System.getProperty("user.dir") + "/var/options.dat");
+
+	private static volatile Options		instance;
+
+	/** Number of entries. */
+	private Integer						numberOfEntries		= 500;
+
+	/** Font size. */
+	private Integer						fontSize			= 12;
+
+	/** Wrap. */
+	private Boolean						wrap				= false;
+
+	/** Hide on close. */
+	private Boolean						hideOnClose			= true;
+
+	/** Show only errors. */
+	private Boolean						showOnlyErrors		= false;
+
+	/** Capture console. */
+	private Boolean						captureConsole		= true;
+
+	/** Last directory. */
+	private String						lastDirectory		= System.getProperty("user.home");
+
+	/**
+	 * Collect options from all over the application.
+	 */
+	public void collectOptions()
+	{
+		numberOfEntries = getNumberOfEntries();
+		fontSize = getFontSize();
+		wrap = isWrap();
+		hideOnClose = isHideOnClose();
+		showOnlyErrors = isShowOnlyErrors();
+		captureConsole = isCaptureConsole();
+		lastDirectory = getLastDirectory();
+	}
+
+	/**
+	 * Apply options set to the application.
+	 */
+	public void applyOptions()
+	{
+		setNumberOfEntries(numberOfEntries);
+		setFontSize(fontSize);
+		setWrap(wrap);
+		setHideOnClose(hideOnClose);
+		setShowOnlyErrors(showOnlyErrors);
+		setCaptureConsole(captureConsole);
+	}
+
+	/**
+	 * Load options from disk.
+	 */
+	public void loadOptions()
+	{
+		if (Files.notExists(OPTIONS_FILE))
+		{
+			applyOptions();
+			return;
+		}
+
+		try
+		{
+			synchronized (this)
+			{
+				final FileInputStream fileStream = new FileInputStream(OPTIONS_FILE.toString());
+				final ObjectInputStream objectStream = new ObjectInputStream(fileStream);
+				instance = (Options) objectStream.readObject();
+				objectStream.close();
+				fileStream.close();
+			}
+
+			instance.applyOptions();
+		}
+		catch (ClassNotFoundException | IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Save options to disk.
+	 */
+	public void saveOptions()
+	{
+		collectOptions();
+
+		try
+		{
+			synchronized (this)
+			{
+				final FileOutputStream fileStream = new FileOutputStream(OPTIONS_FILE.toString());
+				final ObjectOutputStream objectStream = new ObjectOutputStream(fileStream);
+				objectStream.writeObject(instance);
+				objectStream.close();
+				fileStream.close();
+			}
+		}
+		catch (IOException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Gets the single instance of Options.
+	 *
+	 * @return single instance of Options
+	 */
+	public static Options getInstance()
+	{
+		// called a few times for every entry posted, so avoid locking once created.
+		if (instance != null)
+		{
+			return instance;
+		}
+
+		synchronized (Options.class)
+		{
+			if (instance == null)
+			{
+				instance = new Options();
+			}
+
+			return instance;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	// #region Getters and setters.
+	//======================================================================================
+
+	/**
+	 * @return the numberOfEntries
+	 */
+	public Integer getNumberOfEntries()
+	{
+		return numberOfEntries;
+	}
+
+	/**
+	 * @param numberOfEntries
+	 *            the numberOfEntries to set
+	 */
+	public void setNumberOfEntries(final Integer numberOfEntries)
+	{
+		if ( !Log.getInstance().isInitialised() || Log.getInstance().isHeadless()
+				|| (this.numberOfEntries == numberOfEntries))
+		{
+			this.numberOfEntries = numberOfEntries;
+			return;
+		}
+
+		this.numberOfEntries = numberOfEntries;
+
+		GUI.getInstance().trimLog();
+	}
+
+	/**
+	 * @return the fontSize
+	 */
+	public Integer getFontSize()
+	{
+		return fontSize;
+	}
+
+	/**
+	 * @param fontSize
+	 *            the fontSize to set
+	 */
+	public void setFontSize(final Integer fontSize)
+	{
+		if ((fontSize >= 10) && (fontSize <= 25))
+		{
+			if ( !Log.getInstance().isInitialised() || Log.getInstance().isHeadless() || (this.fontSize == fontSize))
+			{
+				this.fontSize = fontSize;
+				return;
+			}
+
+			this.fontSize = fontSize;
+
+			GUI.getInstance().setFontSize(fontSize);
+		}
+	}
+
+	/**
+	 * @return the wrap
+	 */
+	public boolean isWrap()
+	{
+		return wrap;
+	}
+
+	/**
+	 * @param wrap
+	 *            the wrap to set
+	 */
+	public void setWrap(final boolean wrap)
+	{
+		if ( !Log.getInstance().isInitialised() || Log.getInstance().isHeadless() || (this.wrap == wrap))
+		{
+			this.wrap = wrap;
+			return;
+		}
+
+		this.wrap = wrap;
+
+		GUI.getInstance().setWrap(wrap);
+	}
+
+	/**
+	 * @return the hideOnClose
+	 */
+	public boolean isHideOnClose()
+	{
+		return hideOnClose;
+	}
+
+	/**
+	 * @param hideOnClose
+	 *            the hideOnClose to set
+	 */
+	public void setHideOnClose(final boolean hideOnClose)
+	{
+		this.hideOnClose = hideOnClose;
+
+		if ( !Log.getInstance().isHeadless())
+		{
+			GUI.getInstance().setHideOnClose(hideOnClose);
+		}
+	}
+
+	/**
+	 * @return the showOnlyErrors
+	 */
+	public boolean isShowOnlyErrors()
+	{
+		return showOnlyErrors;
+	}
+
+	/**
+	 * @param showOnlyErrors
+	 *            the showOnlyErrors to set
+	 */
+	public void setShowOnlyErrors(final boolean showOnlyErrors)
+	{
+		this.showOnlyErrors = showOnlyErrors;
+	}
+
+	/**
+	 * @return the captureConsole
+	 */
+	public boolean isCaptureConsole()
+	{
+		return captureConsole;
+	}
+
+	/**
+	 * @param captureConsole
+	 *            the captureConsole to set
+	 */
+	public void setCaptureConsole(final boolean captureConsole)
+	{
+		if ((this.captureConsole != captureConsole) && captureConsole)
+		{
+			Log.getInstance().captureSysOut();
+		}
+
+		this.captureConsole = captureConsole;
+	}
+
+	/**
+	 * @return the lastDirectory
+	 */
+	public String getLastDirectory()
+	{
+		return lastDirectory;
+	}
+
+	/**
+	 * @param lastDirectory
+	 *            the lastDirectory to set
+	 */
+	public void setLastDirectory(final String lastDirectory)
+	{
+		this.lastDirectory = lastDirectory;
+	}
+
+	//======================================================================================
+	// #endregion Getters and setters.
+	////////////////////////////////////////////////////////////////////////////////////////
+
+	private Options()
+	{}
+}